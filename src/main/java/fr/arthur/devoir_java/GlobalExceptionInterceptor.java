@@ -1,7 +1,12 @@
 package fr.arthur.devoir_java;
 
+import fr.arthur.devoir_java.security.PasswordHashingSaturatedException;
+import jakarta.persistence.OptimisticLockException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -35,4 +40,19 @@ public class GlobalExceptionInterceptor {
     public Map<String, Object> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
         return Map.of("message", "Une violation de contrainte d'intégrité de données a été détectée");
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler({ObjectOptimisticLockingFailureException.class, OptimisticLockException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public Map<String, Object> handleOptimisticLockException(Exception ex) {
+        return Map.of("message", "La ressource a été modifiée entre-temps, rechargez-la avant de réessayer");
+    }
+
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingSaturatedException(PasswordHashingSaturatedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(Map.of("message", "Trop de connexions simultanées, réessayez dans quelques instants"));
+    }
+}
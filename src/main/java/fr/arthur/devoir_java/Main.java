@@ -1,11 +1,20 @@
 package fr.arthur.devoir_java;
 
+import fr.arthur.devoir_java.security.BCryptStrengthCalibrator;
+import fr.arthur.devoir_java.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
 @SpringBootApplication
 public class Main {
 
@@ -13,8 +22,22 @@ public class Main {
         SpringApplication.run(Main.class, args);
     }
 
+    // Coût fixé par auth.bcrypt.strength, ou calibré au démarrage sur la latence cible
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:0}") int strength,
+                                           @Value("${auth.bcrypt.target:250ms}") Duration target,
+                                           @Value("${auth.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${auth.bcrypt.max-strength:16}") int maxStrength,
+                                           ObjectProvider<MeterRegistry> registries) {
+        int cost = strength > 0 ? strength : BCryptStrengthCalibrator.calibrate(target, minStrength, maxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        // Préfixe {bcrypt} pour les nouveaux hachages ; upgradeEncoding signale ceux à un coût inférieur
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Les mots de passe déjà en base n'ont pas de préfixe : ils restent vérifiés en BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        // Pas de registre dans les tests de tranche JPA : l'encodeur n'y est pas chronométré
+        MeterRegistry registry = registries.getIfAvailable();
+        return registry == null ? encoder : new TimedPasswordEncoder(encoder, registry);
     }
 }
@@ -0,0 +1,36 @@
+package fr.arthur.devoir_java.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Taille et durée de vie des régions du cache de second niveau, par nom de région.
+ * Une région absente de {@code regions} prend les valeurs de {@code defaults}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.second-level")
+public class SecondLevelCacheProperties {
+
+    protected Region defaults = new Region();
+
+    protected Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+
+        protected long maxSize = 1000;
+
+        protected Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -4,13 +4,16 @@ import fr.arthur.devoir_java.dao.UserDao;
 import fr.arthur.devoir_java.model.User;
 import fr.arthur.devoir_java.security.AppUserDetails;
 import fr.arthur.devoir_java.security.JwtUtils;
+import fr.arthur.devoir_java.security.PasswordHashingExecutor;
+import fr.arthur.devoir_java.security.PasswordHashingSaturatedException;
+import fr.arthur.devoir_java.service.PseudoBloomFilter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -37,68 +40,92 @@ public class AuthController {
     @Autowired
     private AuthenticationProvider authenticationProvider;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private PseudoBloomFilter pseudoBloomFilter;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody User user) {
         try {
-            if (userDao.findByPseudo(user.getPseudo()).isPresent()) {
-                Map<String, String> errorResponse = new HashMap<>();
-                errorResponse.put("error", "Ce pseudo est déjà utilisé");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
-            }
-
             if (user.getPseudo() == null || user.getPseudo().isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
 
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            // Un pseudo absent du filtre est certainement libre : pas de lecture en base
+            if (pseudoBloomFilter.mightContain(user.getPseudo()) && userDao.findByPseudo(user.getPseudo()).isPresent()) {
+                return pseudoTaken();
+            }
+        } catch (Exception e) {
+            return registerError();
+        }
+
+        // Seul le hachage passe par le pool ; un pool saturé remonte en 503
+        String hash = passwordHashingExecutor.call(() -> passwordEncoder.encode(user.getPassword()));
+
+        try {
+            user.setPassword(hash);
 
             user.setAdmin(false);
 
             userDao.save(user);
+            pseudoBloomFilter.put(user.getPseudo());
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "Utilisateur créé avec succès");
             response.put("pseudo", user.getPseudo());
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
-
+        } catch (DataIntegrityViolationException e) {
+            // La contrainte d'unicité tranche les inscriptions concurrentes et les faux négatifs du filtre
+            return pseudoTaken();
         } catch (Exception e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Erreur lors de la création de l'utilisateur");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return registerError();
         }
     }
 
+    protected ResponseEntity<?> pseudoTaken() {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Ce pseudo est déjà utilisé");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    protected ResponseEntity<?> registerError() {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Erreur lors de la création de l'utilisateur");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody User user) {
+        Authentication authentication;
         try {
-            Authentication authentication = authenticationProvider.authenticate(
+            // Lecture de l'utilisateur sur le thread de requête ; la vérification BCrypt passe par le pool
+            // (encodeur du fournisseur, cf. SecurityConfig) qui refuse en 503 quand il est saturé
+            authentication = authenticationProvider.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             user.getPseudo(), user.getPassword()
                     ));
-
-            AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
-            String jwt = jwtUtils.generateToken(userDetails);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", jwt);
-            response.put("type", "Bearer");
-            response.put("pseudo", userDetails.getUsername());
-            response.put("admin", userDetails.getUser().isAdmin());
-
-            return ResponseEntity.ok(response);
-
-        } catch (BadCredentialsException e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Identifiants invalides");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
-
+        } catch (PasswordHashingSaturatedException e) {
+            throw e;
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Identifiants invalides");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
         }
+
+        AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
+        String jwt = jwtUtils.generateToken(userDetails);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("token", jwt);
+        response.put("type", "Bearer");
+        response.put("pseudo", userDetails.getUsername());
+        response.put("admin", userDetails.getUser().isAdmin());
+
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/profile")
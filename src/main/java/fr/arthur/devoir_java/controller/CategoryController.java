@@ -1,10 +1,19 @@
 package fr.arthur.devoir_java.controller;
 
 import fr.arthur.devoir_java.dao.CategoryDao;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
 import fr.arthur.devoir_java.model.Category;
 import fr.arthur.devoir_java.security.IsAdmin;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import fr.arthur.devoir_java.web.ConditionalGet;
+import fr.arthur.devoir_java.web.VersionedCollection;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -21,14 +30,31 @@ public class CategoryController {
     @Autowired
     protected CategoryDao categoryDao;
 
+    @Autowired
+    protected ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    protected CollectionVersions collectionVersions;
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @Autowired
+    protected TicketChangeLog ticketChangeLog;
+
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/list")
+    @ConditionalGet(VersionedCollection.CATEGORIES)
     public List<Category> getAllCategories() {
-        return categoryDao.findAll();
+        return referenceDataCache.getCategories();
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(VersionedCollection.CATEGORIES)
     public ResponseEntity<Category> getCategoryById(@PathVariable int id) {
-        Optional<Category> category = categoryDao.findById(id);
+        Optional<Category> category = referenceDataCache.findCategory(id);
 
         if (category.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -41,6 +67,8 @@ public class CategoryController {
     @IsAdmin
     public ResponseEntity<Category> save(@RequestBody @Validated(Category.save.class) Category category) {
         categoryDao.save(category);
+        referenceDataCache.refreshCategories();
+        collectionVersions.bump(VersionedCollection.CATEGORIES);
 
         return new ResponseEntity<>(category, HttpStatus.CREATED);
     }
@@ -48,7 +76,7 @@ public class CategoryController {
     @PutMapping("/{id}")
     @IsAdmin
     public ResponseEntity<?> update(@PathVariable int id, @RequestBody @Validated(Category.update.class) Category category) {
-        Optional<Category> oldCategory = categoryDao.findById(id);
+        Optional<Category> oldCategory = referenceDataCache.findCategory(id);
 
         if (oldCategory.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -56,20 +84,37 @@ public class CategoryController {
 
         category.setId(id);
         categoryDao.save(category);
+        referenceDataCache.refreshCategories();
+        // Le nom de la catégorie figure aussi dans les vues de tickets :
+        // journal, flux et statistiques doivent les relire
+        ticketsChanged(ticketChangeLog.write(changeSeq -> ticketDao.touchByCategory(id, changeSeq)));
+        collectionVersions.bump(VersionedCollection.CATEGORIES, VersionedCollection.TICKETS);
         return new ResponseEntity<>(category, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
     @IsAdmin
     public ResponseEntity<?> delete(@PathVariable int id) {
-        Optional<Category> oldCategory = categoryDao.findById(id);
+        Optional<Category> oldCategory = referenceDataCache.findCategory(id);
 
         if (oldCategory.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
+        // Séquence avancée avant la suppression : elle est refusée tant qu'un ticket référence la ligne,
+        // sauf schéma qui supprimerait aussi les références
+        int touched = ticketChangeLog.write(changeSeq -> ticketDao.touchByCategory(id, changeSeq));
         categoryDao.deleteById(id);
+        referenceDataCache.refreshCategories();
+        ticketsChanged(touched);
+        collectionVersions.bump(VersionedCollection.CATEGORIES, VersionedCollection.TICKETS);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    protected void ticketsChanged(int touched) {
+        if (touched > 0) {
+            eventPublisher.publishEvent(new TicketBulkChangeEvent(TicketChangeEvent.Type.UPDATED, touched));
+        }
+    }
 }
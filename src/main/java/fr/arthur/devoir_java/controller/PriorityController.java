@@ -1,10 +1,19 @@
 package fr.arthur.devoir_java.controller;
 
 import fr.arthur.devoir_java.dao.PriorityDao;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
 import fr.arthur.devoir_java.model.Priority;
 import fr.arthur.devoir_java.security.IsAdmin;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import fr.arthur.devoir_java.web.ConditionalGet;
+import fr.arthur.devoir_java.web.VersionedCollection;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -21,14 +30,31 @@ public class PriorityController {
     @Autowired
     protected PriorityDao priorityDao;
 
+    @Autowired
+    protected ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    protected CollectionVersions collectionVersions;
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @Autowired
+    protected TicketChangeLog ticketChangeLog;
+
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/list")
+    @ConditionalGet(VersionedCollection.PRIORITIES)
     public List<Priority> getAllPriorities() {
-        return priorityDao.findAll();
+        return referenceDataCache.getPriorities();
     }
 
     @GetMapping("/{id}")
+    @ConditionalGet(VersionedCollection.PRIORITIES)
     public ResponseEntity<Priority> getPriorityById(@PathVariable int id) {
-        Optional<Priority> priority = priorityDao.findById(id);
+        Optional<Priority> priority = referenceDataCache.findPriority(id);
 
         if (priority.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -41,6 +67,8 @@ public class PriorityController {
     @IsAdmin
     public ResponseEntity<Priority> save(@RequestBody @Validated(Priority.save.class) Priority priority) {
         priorityDao.save(priority);
+        referenceDataCache.refreshPriorities();
+        collectionVersions.bump(VersionedCollection.PRIORITIES);
 
         return new ResponseEntity<>(priority, HttpStatus.CREATED);
     }
@@ -48,7 +76,7 @@ public class PriorityController {
     @PutMapping("/{id}")
     @IsAdmin
     public ResponseEntity<?> update(@PathVariable int id, @RequestBody @Validated(Priority.update.class) Priority priority) {
-        Optional<Priority> oldPriority = priorityDao.findById(id);
+        Optional<Priority> oldPriority = referenceDataCache.findPriority(id);
 
         if (oldPriority.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -56,6 +84,11 @@ public class PriorityController {
 
         priority.setId(id);
         priorityDao.save(priority);
+        referenceDataCache.refreshPriorities();
+        // Le nom de la priorité figure aussi dans les vues de tickets :
+        // journal, flux et statistiques doivent les relire
+        ticketsChanged(ticketChangeLog.write(changeSeq -> ticketDao.touchByPriority(id, changeSeq)));
+        collectionVersions.bump(VersionedCollection.PRIORITIES, VersionedCollection.TICKETS);
 
         return new ResponseEntity<>(priority, HttpStatus.OK);
     }
@@ -63,14 +96,26 @@ public class PriorityController {
     @DeleteMapping("/{id}")
     @IsAdmin
     public ResponseEntity<Priority> delete(@PathVariable int id) {
-        Optional<Priority> priority = priorityDao.findById(id);
+        Optional<Priority> priority = referenceDataCache.findPriority(id);
 
         if (priority.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
+        // Séquence avancée avant la suppression : elle est refusée tant qu'un ticket référence la ligne,
+        // sauf schéma qui supprimerait aussi les références
+        int touched = ticketChangeLog.write(changeSeq -> ticketDao.touchByPriority(id, changeSeq));
         priorityDao.deleteById(id);
+        referenceDataCache.refreshPriorities();
+        ticketsChanged(touched);
+        collectionVersions.bump(VersionedCollection.PRIORITIES, VersionedCollection.TICKETS);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    protected void ticketsChanged(int touched) {
+        if (touched > 0) {
+            eventPublisher.publishEvent(new TicketBulkChangeEvent(TicketChangeEvent.Type.UPDATED, touched));
+        }
+    }
 }
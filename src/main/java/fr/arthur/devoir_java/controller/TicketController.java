@@ -1,94 +1,396 @@
 package fr.arthur.devoir_java.controller;
 
-import fr.arthur.devoir_java.dao.CategoryDao;
-import fr.arthur.devoir_java.dao.PriorityDao;
+import com.fasterxml.jackson.databind.JsonNode;
 import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.dao.TicketPatch;
+import fr.arthur.devoir_java.dao.TicketResolveRequest;
+import fr.arthur.devoir_java.dao.TicketSearchCriteria;
 import fr.arthur.devoir_java.dao.UserDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
 import fr.arthur.devoir_java.model.Category;
 import fr.arthur.devoir_java.model.Priority;
 import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.User;
 import fr.arthur.devoir_java.security.AppUserDetails;
 import fr.arthur.devoir_java.security.IsAdmin;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.service.TicketExportFormat;
+import fr.arthur.devoir_java.service.TicketExportService;
+import fr.arthur.devoir_java.service.TicketFullTextIndex;
+import fr.arthur.devoir_java.service.TicketIngestionQueue;
+import fr.arthur.devoir_java.service.TicketStatistics;
+import fr.arthur.devoir_java.service.UnresolvedTicketFeed;
+import fr.arthur.devoir_java.view.ChangeCursor;
+import fr.arthur.devoir_java.view.Cursor;
+import fr.arthur.devoir_java.view.CursorPage;
+import fr.arthur.devoir_java.view.TicketChangesView;
+import fr.arthur.devoir_java.view.TicketIngestionView;
+import fr.arthur.devoir_java.view.TicketStatsView;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import fr.arthur.devoir_java.web.ConditionalGet;
+import fr.arthur.devoir_java.web.TicketEventStream;
+import fr.arthur.devoir_java.web.VersionedCollection;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
-import java.util.Optional;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/ticket")
 @Tag(name = "CRUD ticket", description = "Permet de manipuler les tickets")
 public class TicketController {
 
+    protected static final int MAX_PAGE_SIZE = 100;
+
+    protected static final int MAX_BATCH_SIZE = 5000;
+
+    protected static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
     @Autowired
     protected TicketDao ticketDao;
 
     @Autowired
-    protected PriorityDao priorityDao;
+    protected ReferenceDataCache referenceDataCache;
 
     @Autowired
-    protected CategoryDao categoryDao;
+    protected UserDao userDao;
 
     @Autowired
-    protected UserDao userDao;
+    protected TicketExportService ticketExportService;
+
+    @Autowired
+    protected TicketFullTextIndex ticketFullTextIndex;
+
+    @Autowired
+    protected UnresolvedTicketFeed unresolvedTicketFeed;
+
+    @Autowired
+    protected TicketStatistics ticketStatistics;
+
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    protected TicketIngestionQueue ticketIngestionQueue;
+
+    @Autowired
+    protected TicketEventStream ticketEventStream;
+
+    @Autowired
+    protected TicketChangeLog ticketChangeLog;
+
+    @Autowired
+    protected CollectionVersions collectionVersions;
+
+    @Value("${tickets.ingestion.retry-after:1s}")
+    protected Duration ingestionRetryAfter;
 
     @GetMapping("/list")
-    public List<Ticket> getAll() {
-        return ticketDao.findAll();
+    @ConditionalGet(VersionedCollection.TICKETS)
+    public ResponseEntity<CursorPage<TicketWithPseudoView>> getAll(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id,asc") String sort) {
+
+        Optional<Cursor> cursor = resolveCursor(after, limit, sort);
+
+        if (cursor.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<TicketWithPseudoView> tickets = cursor.get().isDescending()
+                ? ticketDao.findViewsBefore(cursor.get().getLastId(), Limit.of(limit + 1))
+                : ticketDao.findViewsAfter(cursor.get().getLastId(), Limit.of(limit + 1));
+
+        return new ResponseEntity<>(toPage(tickets, limit, cursor.get()), HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    @ConditionalGet(VersionedCollection.TICKETS)
+    public ResponseEntity<CursorPage<TicketWithPseudoView>> search(
+            @ModelAttribute TicketSearchCriteria criteria,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id,asc") String sort) {
+
+        Optional<Cursor> cursor = resolveCursor(after, limit, sort);
+
+        if (cursor.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<TicketWithPseudoView> tickets = ticketDao.search(criteria, cursor.get(), limit + 1);
+
+        return new ResponseEntity<>(toPage(tickets, limit, cursor.get()), HttpStatus.OK);
+    }
+
+    @GetMapping("/unresolved")
+    @ConditionalGet(VersionedCollection.TICKETS)
+    public List<TicketView> getUnresolved() {
+        return unresolvedTicketFeed.findAll();
+    }
+
+    // ETag propre au ticket : Spring répond 304 si l'If-None-Match correspond
+    @GetMapping("/unresolved/{id}")
+    public ResponseEntity<TicketView> getUnresolved(@PathVariable int id) {
+        String references = collectionVersions.snapshot(VersionedCollection.PRIORITIES, VersionedCollection.CATEGORIES);
+        Optional<TicketView> ticket = unresolvedTicketFeed.findById(id);
+
+        if (ticket.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(collectionVersions.etag("ticket", id, ticket.get().getVersion(), references))
+                .body(ticket.get());
     }
 
+    /**
+     * Synchronisation différentielle : tickets créés, modifiés ou supprimés depuis la position since,
+     * renvoyée dans next par l'appel précédent. Sans since, tous les tickets sont envoyés.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TicketChangesView> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+
+        Optional<ChangeCursor> cursor = since == null ? Optional.of(ChangeCursor.start()) : ChangeCursor.decode(since);
+
+        if (cursor.isEmpty() || limit < 1 || limit > MAX_CHANGES_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(ticketChangeLog.changesSince(cursor.get(), limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/stats")
+    @ConditionalGet(VersionedCollection.TICKETS)
+    public TicketStatsView getStats() {
+        return ticketStatistics.snapshot();
+    }
+
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<TicketWithPseudoView>> fullText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        if (q.isBlank() || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<Integer> rankedIds = ticketFullTextIndex.search(q, limit);
+        if (rankedIds.isEmpty()) {
+            return new ResponseEntity<>(List.of(), HttpStatus.OK);
+        }
+
+        // La base renvoie les tickets dans un ordre quelconque : on rétablit celui du classement
+        List<TicketWithPseudoView> tickets = ticketDao.findViewsByIdIn(rankedIds).stream()
+                .sorted(Comparator.comparingInt(ticket -> rankedIds.indexOf(ticket.getId())))
+                .toList();
+        ticketDao.attachCategories(tickets);
+
+        return new ResponseEntity<>(tickets, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    @IsAdmin
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        Optional<TicketExportFormat> exportFormat = TicketExportFormat.fromName(format);
+
+        if (exportFormat.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        StreamingResponseBody body = outputStream -> ticketExportService.export(exportFormat.get(), outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.get().getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tickets." + exportFormat.get().getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Flux SSE des créations, modifications, résolutions et suppressions de tickets.
+     * Un client reconnecté avec Last-Event-ID reçoit les événements manqués, ou un événement reset
+     * s'ils ne sont plus en mémoire.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Optional<SseEmitter> emitter = ticketEventStream.subscribe(lastEventId);
+
+        if (emitter.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        return ResponseEntity.ok()
+                // Pas de mise en tampon par un proxy nginx en amont
+                .header("X-Accel-Buffering", "no")
+                .body(emitter.get());
+    }
+
+    // ETag propre au ticket : Spring répond 304 si l'If-None-Match correspond
     @GetMapping("/{id}")
     public ResponseEntity<Ticket> get(@PathVariable int id) {
+        String references = collectionVersions.snapshot(
+                VersionedCollection.PRIORITIES, VersionedCollection.CATEGORIES, VersionedCollection.USERS);
         Optional<Ticket> ticket = ticketDao.findById(id);
 
         if (ticket.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<>(ticket.get(), HttpStatus.OK);
+        return ResponseEntity.ok()
+                .eTag(collectionVersions.etag("ticket", id, ticket.get().getVersion(), references))
+                .body(ticket.get());
     }
 
     @PostMapping
-    public ResponseEntity<?> save(@Valid @RequestBody Ticket ticket) {
+    public ResponseEntity<?> save(@Valid @RequestBody Ticket ticket,
+                                  @RequestHeader(value = "Prefer", required = false) List<String> prefer) {
+        if (prefersRespondAsync(prefer)) {
+            return saveAsync(ticket);
+        }
+
         try {
-            if (ticket.getPriority() == null || ticket.getPriority().getId() == null) {
+            if (!prepareForCreation(ticket)) {
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
 
-            Optional<Priority> priority = priorityDao.findById(ticket.getPriority().getId());
+            ticketChangeLog.write(changeSeq -> {
+                ticket.setChangeSeq(changeSeq);
+                return ticketDao.save(ticket);
+            });
+            eventPublisher.publishEvent(TicketChangeEvent.created(TicketWithPseudoView.of(ticket)));
 
-            if (priority.isEmpty()) {
+            return new ResponseEntity<>(ticket, HttpStatus.CREATED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Création différée, sur demande du client (Prefer: respond-async) : le ticket est validé, reçoit son id
+     * puis est mis en file ; la réponse 202 porte cet id et un reçu à consulter sur /api/ticket/ingestion/{receipt}.
+     * File pleine : 503 avec Retry-After.
+     */
+    protected ResponseEntity<?> saveAsync(Ticket ticket) {
+        if (!prepareForCreation(ticket)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        // Le ticket quitte la requête : le soumetteur est chargé tant que la session est ouverte
+        Hibernate.initialize(ticket.getSubmittingUser());
+
+        Optional<TicketIngestionView> pending = ticketIngestionQueue.submit(ticket);
+
+        if (pending.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ingestionRetryAfter.toSeconds())))
+                    .build();
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/ticket/ingestion/" + pending.get().getReceipt()))
+                .header("Preference-Applied", "respond-async")
+                .body(pending.get());
+    }
+
+    @GetMapping("/ingestion/{receipt}")
+    public ResponseEntity<TicketIngestionView> getIngestionStatus(@PathVariable UUID receipt) {
+        Optional<TicketIngestionView> status = ticketIngestionQueue.status(receipt);
+
+        if (status.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(status.get(), HttpStatus.OK);
+    }
+
+    /**
+     * Création en masse : priorités et catégories sont résolues depuis le cache de référence,
+     * puis tous les tickets sont insérés dans une seule transaction par lots JDBC.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> saveBatch(@RequestBody List<Ticket> tickets) {
+        if (tickets.isEmpty() || tickets.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Set<Integer> priorityIds = new HashSet<>();
+        Set<Integer> categoryIds = new HashSet<>();
+
+        for (Ticket ticket : tickets) {
+            if (ticket.getTitle() == null || ticket.getTitle().isBlank()
+                    || ticket.getPriority() == null || ticket.getPriority().getId() == null) {
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
-            ticket.setPriority(priority.get());
-
-            // Gestion des catégories
-            if (ticket.getCategories() != null && !ticket.getCategories().isEmpty()) {
-                List<Integer> categoryIds = ticket.getCategories().stream().map(Category::getId).toList();
-                List<Category> categories = categoryDao.findAllById(categoryIds);
-                ticket.setCategories(categories);
+            priorityIds.add(ticket.getPriority().getId());
+
+            if (ticket.getCategories() != null) {
+                for (Category category : ticket.getCategories()) {
+                    if (category == null || category.getId() == null) {
+                        return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                    }
+                    categoryIds.add(category.getId());
+                }
             }
+        }
 
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getPrincipal() instanceof AppUserDetails appUserDetails) {
-                ticket.setSubmittingUser(appUserDetails.getUser());
-            }
+        Map<Integer, Priority> priorities = referenceDataCache.findPrioritiesById(priorityIds).stream()
+                .collect(Collectors.toMap(Priority::getId, Function.identity()));
+        Map<Integer, Category> categories = referenceDataCache.findCategoriesById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
 
-            ticket.setResolved(false);
+        // Une référence inconnue invalide tout le lot
+        if (priorities.size() != priorityIds.size() || categories.size() != categoryIds.size()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
 
-            ticketDao.save(ticket);
+        User submittingUser = currentUser();
 
-            return new ResponseEntity<>(ticket, HttpStatus.CREATED);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        for (Ticket ticket : tickets) {
+            ticket.setId(null);
+            ticket.setResolved(false);
+            ticket.setResolvingUser(null);
+            ticket.setSubmittingUser(submittingUser);
+            ticket.setPriority(priorities.get(ticket.getPriority().getId()));
+            ticket.setCategories(ticket.getCategories() == null
+                    ? new ArrayList<>()
+                    : ticket.getCategories().stream().map(category -> categories.get(category.getId())).collect(Collectors.toList()));
         }
+
+        // Une seule séquence pour tout le lot : le journal départage ses tickets par id
+        ticketChangeLog.write(changeSeq -> {
+            tickets.forEach(ticket -> ticket.setChangeSeq(changeSeq));
+            return ticketDao.saveAll(tickets);
+        });
+        tickets.forEach(ticket -> eventPublisher.publishEvent(TicketChangeEvent.created(TicketWithPseudoView.of(ticket))));
+
+        return new ResponseEntity<>(tickets, HttpStatus.CREATED);
     }
 
     @IsAdmin
@@ -100,7 +402,14 @@ public class TicketController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        ticketDao.deleteById(id);
+        // Vue construite avant la suppression : les catégories ne sont plus chargeables ensuite
+        TicketWithPseudoView deleted = TicketWithPseudoView.of(ticket.get());
+
+        // La pierre tombale signale la suppression aux clients en synchronisation différentielle
+        if (!ticketChangeLog.write(changeSeq -> ticketDao.deleteWithTombstone(id, changeSeq))) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        eventPublisher.publishEvent(TicketChangeEvent.deleted(deleted));
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
@@ -114,15 +423,20 @@ public class TicketController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
+        // Version fournie par le client : refusée si le ticket a été modifié depuis sa lecture
+        if (ticketRequest.getVersion() != null && !ticketRequest.getVersion().equals(existingTicket.get().getVersion())) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+
         try {
             Ticket ticket = existingTicket.get();
-            ticket.setId(ticketRequest.getId());
+            TicketWithPseudoView before = TicketWithPseudoView.of(ticket);
             ticket.setTitle(ticketRequest.getTitle());
             ticket.setDescription(ticketRequest.getDescription());
 
             // Update des priorités
             if (ticketRequest.getPriority() != null && ticketRequest.getPriority().getId() != null) {
-                Optional<Priority> priority = priorityDao.findById(ticketRequest.getPriority().getId());
+                Optional<Priority> priority = referenceDataCache.findPriority(ticketRequest.getPriority().getId());
                 if (priority.isEmpty()) {
                     return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
                 }
@@ -133,37 +447,178 @@ public class TicketController {
             // Update des catégories
             if (ticketRequest.getCategories() != null && !ticketRequest.getCategories().isEmpty()) {
                 List<Integer> categoryIds = ticketRequest.getCategories().stream().map(Category::getId).toList();
-                List<Category> categories = categoryDao.findAllById(categoryIds);
+                List<Category> categories = referenceDataCache.findCategoriesById(categoryIds);
 
                 ticket.setCategories(categories);
             }
 
-            ticketDao.save(ticket);
+            ticketChangeLog.write(changeSeq -> {
+                ticket.setChangeSeq(changeSeq);
+                return ticketDao.save(ticket);
+            });
+            eventPublisher.publishEvent(TicketChangeEvent.updated(before, TicketWithPseudoView.of(ticket)));
 
             return new ResponseEntity<>(ticket, HttpStatus.OK);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Écriture concurrente entre la lecture et l'enregistrement
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Modification partielle (JSON Merge Patch) : seules les colonnes présentes sont mises à jour,
+     * et la table de jointure des catégories n'est touchée que si elles figurent dans le patch.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TicketWithPseudoView> patch(@PathVariable int id, @RequestBody JsonNode document) {
+        Optional<TicketPatch> patch = TicketPatch.fromMergePatch(document);
+
+        if (patch.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        if (patch.get().isHasPriority() && referenceDataCache.findPriority(patch.get().getPriorityId()).isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        if (patch.get().isHasCategories() && !patch.get().getCategoryIds().isEmpty()
+                && referenceDataCache.findCategoriesById(patch.get().getCategoryIds()).size() != patch.get().getCategoryIds().size()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Optional<TicketWithPseudoView> before = ticketDao.findViewById(id);
+
+        if (before.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        ticketDao.attachCategories(List.of(before.get()));
+
+        if (!ticketChangeLog.write(changeSeq -> ticketDao.patch(id, patch.get(), changeSeq))) {
+            return new ResponseEntity<>(ticketDao.existsById(id) ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND);
+        }
+
+        Optional<TicketWithPseudoView> after = ticketDao.findViewById(id);
+
+        if (after.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        ticketDao.attachCategories(List.of(after.get()));
+        eventPublisher.publishEvent(TicketChangeEvent.updated(before.get(), after.get()));
+
+        return new ResponseEntity<>(after.get(), HttpStatus.OK);
+    }
+
     @PutMapping("/{id}/resolve")
     @IsAdmin
-    public ResponseEntity<Ticket> resolve(@PathVariable int id) {
-        Optional<Ticket> existingTicket = ticketDao.findById(id);
+    public ResponseEntity<Ticket> resolve(@PathVariable int id, @RequestParam(required = false) Long version) {
+        // Résolution conditionnelle : un seul gagnant si deux administrateurs se croisent
+        User resolvingUser = currentUser();
+        if (ticketChangeLog.write(changeSeq -> ticketDao.resolveById(id, version, resolvingUser, changeSeq)) == 0) {
+            return new ResponseEntity<>(ticketDao.existsById(id) ? HttpStatus.CONFLICT : HttpStatus.NOT_FOUND);
+        }
 
-        if (existingTicket.isEmpty()) {
+        Optional<Ticket> ticket = ticketDao.findById(id);
+
+        if (ticket.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        Ticket ticket = existingTicket.get();
-        ticket.setResolved(true);
+        // L'UPDATE n'a touché que le statut et le résolveur : l'état précédent s'en déduit
+        TicketWithPseudoView before = TicketWithPseudoView.of(ticket.get());
+        before.setResolved(false);
+        before.setResolvingUserId(null);
+        before.setResolvingUserPseudo(null);
+        eventPublisher.publishEvent(TicketChangeEvent.resolved(before, TicketWithPseudoView.of(ticket.get())));
+
+        return new ResponseEntity<>(ticket.get(), HttpStatus.OK);
+    }
+
+    @PutMapping("/resolve")
+    @IsAdmin
+    public ResponseEntity<Map<String, Integer>> resolveAll(@RequestBody TicketResolveRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+
+        if (byIds == (request.getFilter() != null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        User resolvingUser = currentUser();
+        int resolved = ticketChangeLog.write(changeSeq -> byIds
+                ? ticketDao.resolveByIdIn(request.getIds(), resolvingUser, changeSeq)
+                : ticketDao.resolveMatching(request.getFilter(), resolvingUser, changeSeq));
+
+        if (resolved > 0) {
+            eventPublisher.publishEvent(new TicketBulkChangeEvent(TicketChangeEvent.Type.RESOLVED, resolved));
+        }
+
+        return new ResponseEntity<>(Map.of("resolved", resolved), HttpStatus.OK);
+    }
+
+    // Prefer (RFC 7240) : préférences séparées par des virgules, chacune pouvant porter des paramètres après « ; »
+    protected static boolean prefersRespondAsync(List<String> prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        return prefer.stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(preference -> preference.split(";", 2)[0].trim())
+                .anyMatch("respond-async"::equalsIgnoreCase);
+    }
+
+    // Résout priorité et catégories depuis le cache et renseigne le soumetteur ; false si la priorité est absente ou inconnue
+    protected boolean prepareForCreation(Ticket ticket) {
+        if (ticket.getPriority() == null || ticket.getPriority().getId() == null) {
+            return false;
+        }
+
+        // L'id vient de la séquence, jamais du client : le générateur conserverait un id déjà renseigné
+        ticket.setId(null);
+        ticket.setVersion(null);
+
+        Optional<Priority> priority = referenceDataCache.findPriority(ticket.getPriority().getId());
+
+        if (priority.isEmpty()) {
+            return false;
+        }
+        ticket.setPriority(priority.get());
 
+        // Gestion des catégories
+        if (ticket.getCategories() != null && !ticket.getCategories().isEmpty()) {
+            List<Integer> categoryIds = ticket.getCategories().stream().map(Category::getId).toList();
+            List<Category> categories = referenceDataCache.findCategoriesById(categoryIds);
+            ticket.setCategories(categories);
+        }
+
+        ticket.setSubmittingUser(currentUser());
+
+        ticket.setResolved(false);
+
+        return true;
+    }
+
+    // Référence gérée par la session plutôt que l'utilisateur reconstruit depuis le jeton, dont le pseudo
+    // peut dater d'avant un renommage : seul l'id est lu tant que rien d'autre n'est demandé
+    protected User currentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof AppUserDetails appUserDetails) {
-            ticket.setResolvingUser(appUserDetails.getUser());
+            return userDao.getReferenceById(appUserDetails.getUser().getId());
         }
+        return null;
+    }
+
+    // Quand un curseur est fourni, c'est lui qui porte le sens du tri
+    protected Optional<Cursor> resolveCursor(String after, int limit, String sort) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Optional.empty();
+        }
+        return after == null ? Cursor.start(sort) : Cursor.decode(after);
+    }
 
-        ticketDao.save(ticket);
-        return new ResponseEntity<>(ticket, HttpStatus.OK);
+    protected CursorPage<TicketWithPseudoView> toPage(List<TicketWithPseudoView> tickets, int limit, Cursor cursor) {
+        CursorPage<TicketWithPseudoView> page = CursorPage.of(tickets, limit, cursor, TicketView::getId);
+        ticketDao.attachCategories(page.getItems());
+        return page;
     }
 }
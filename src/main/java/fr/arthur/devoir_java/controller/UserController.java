@@ -1,15 +1,25 @@
 package fr.arthur.devoir_java.controller;
 
 import com.fasterxml.jackson.annotation.JsonView;
+import fr.arthur.devoir_java.dao.TicketDao;
 import fr.arthur.devoir_java.dao.UserDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
 import fr.arthur.devoir_java.model.User;
 import fr.arthur.devoir_java.security.IsAdmin;
+import fr.arthur.devoir_java.security.UserCache;
+import fr.arthur.devoir_java.service.PseudoBloomFilter;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
 import fr.arthur.devoir_java.view.UserView;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import fr.arthur.devoir_java.web.VersionedCollection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +27,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -31,6 +42,24 @@ public class UserController {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    @Autowired
+    protected CollectionVersions collectionVersions;
+
+    @Autowired
+    protected UserCache userCache;
+
+    @Autowired
+    protected PseudoBloomFilter pseudoBloomFilter;
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @Autowired
+    protected TicketChangeLog ticketChangeLog;
+
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
     @GetMapping("/list")
     @JsonView(UserView.class)
     public List<User> getAll() {
@@ -65,6 +94,7 @@ public class UserController {
         userSent.setPassword(passwordEncoder.encode(userSent.getPassword()));
 
         userDao.save(userSent);
+        pseudoBloomFilter.put(userSent.getPseudo());
 
         return new ResponseEntity<>(userSent, HttpStatus.CREATED);
 
@@ -79,7 +109,14 @@ public class UserController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        userDao.deleteById(id);
+        // Les tickets soumis ou résolus partent avec l'utilisateur : chacun laisse une pierre tombale et un événement
+        List<TicketWithPseudoView> deletedTickets =
+                ticketChangeLog.write(changeSeq -> ticketDao.deleteUserWithTombstones(id, changeSeq));
+        deletedTickets.forEach(ticket -> eventPublisher.publishEvent(TicketChangeEvent.deleted(ticket)));
+
+        userCache.evict(optionalUser.get().getPseudo());
+        pseudoBloomFilter.remove(optionalUser.get().getPseudo());
+        collectionVersions.bump(VersionedCollection.USERS, VersionedCollection.TICKETS);
 
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 
@@ -99,8 +136,25 @@ public class UserController {
         }
 
         userSent.setPassword(optionalUser.get().getPassword());
+        // Lu avant save : l'utilisateur chargé est géré, le merge lui recopie le nouveau pseudo
+        String previousPseudo = optionalUser.get().getPseudo();
 
         userDao.save(userSent);
+        // Ancien et nouveau pseudo : un jeton émis avant le renommage ne doit pas garder les anciens droits
+        userCache.evict(previousPseudo);
+        userCache.evict(userSent.getPseudo());
+        if (!Objects.equals(previousPseudo, userSent.getPseudo())) {
+            pseudoBloomFilter.remove(previousPseudo);
+            pseudoBloomFilter.put(userSent.getPseudo());
+
+            // Les vues de tickets portent le pseudo : journal, flux et statistiques doivent les relire
+            int touched = ticketChangeLog.write(changeSeq -> ticketDao.touchByUser(id, changeSeq));
+            if (touched > 0) {
+                eventPublisher.publishEvent(new TicketBulkChangeEvent(TicketChangeEvent.Type.UPDATED, touched));
+            }
+        }
+        // Le pseudo figure dans les vues de tickets
+        collectionVersions.bump(VersionedCollection.USERS, VersionedCollection.TICKETS);
 
         return new ResponseEntity<>(userSent, HttpStatus.OK);
 
@@ -1,10 +1,110 @@
 package fr.arthur.devoir_java.dao;
 
 import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.view.CategoryView;
+import fr.arthur.devoir_java.view.TicketChangeRowView;
+import fr.arthur.devoir_java.view.TicketCategoryView;
+import fr.arthur.devoir_java.view.TicketGroupCountView;
+import fr.arthur.devoir_java.view.TicketTextView;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 
 @Repository
-public interface TicketDao extends JpaRepository<Ticket, Integer> {
+public interface TicketDao extends JpaRepository<Ticket, Integer>, TicketDaoCustom {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Une seule requête pour le ticket, sa priorité et le pseudo des deux utilisateurs
+    String VIEW_SELECT = "select new fr.arthur.devoir_java.view.TicketWithPseudoView(" +
+            "t.id, t.title, t.description, t.resolved, t.version, p.id, p.name, su.id, su.pseudo, ru.id, ru.pseudo) " +
+            "from Ticket t join t.priority p left join t.submittingUser su left join t.resolvingUser ru ";
+
+    // Pagination par clé : le coût d'une page ne dépend pas de sa profondeur
+    @Query(VIEW_SELECT + "where t.id > :after order by t.id asc")
+    List<TicketWithPseudoView> findViewsAfter(@Param("after") int after, Limit limit);
+
+    @Query(VIEW_SELECT + "where t.id < :before order by t.id desc")
+    List<TicketWithPseudoView> findViewsBefore(@Param("before") int before, Limit limit);
+
+    @Query(VIEW_SELECT + "where t.id in :ids")
+    List<TicketWithPseudoView> findViewsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(VIEW_SELECT + "where t.resolved = false order by t.id")
+    List<TicketWithPseudoView> findUnresolvedViews();
+
+    @Query(VIEW_SELECT + "where t.id = :id")
+    Optional<TicketWithPseudoView> findViewById(@Param("id") int id);
+
+    // Tickets écrits après la position (séquence, id), sans dépasser les écritures déjà validées
+    @Query("select t.id as id, t.changeSeq as changeSeq from Ticket t " +
+            "where (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.id > :lastId)) " +
+            "and t.changeSeq <= :watermark order by t.changeSeq, t.id")
+    List<TicketChangeRowView> findChangesAfter(@Param("changeSeq") long changeSeq, @Param("lastId") int lastId,
+                                               @Param("watermark") long watermark, Limit limit);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from Ticket t")
+    long findMaxChangeSeq();
+
+    @Query("select t.id as ticketId, c.id as categoryId, c.name as categoryName " +
+            "from Ticket t join t.categories c where t.id in :ticketIds")
+    List<TicketCategoryView> findCategoryViewsByTicketIdIn(@Param("ticketIds") Collection<Integer> ticketIds);
+
+    // Complète les vues avec leurs catégories en une requête, quel que soit le nombre de tickets
+    default void attachCategories(Collection<? extends TicketView> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, TicketView> ticketsById = tickets.stream()
+                .collect(Collectors.toMap(TicketView::getId, Function.identity(), (first, second) -> first));
+
+        for (TicketCategoryView row : findCategoryViewsByTicketIdIn(ticketsById.keySet())) {
+            ticketsById.get(row.getTicketId()).getCategories()
+                    .add(new CategoryView(row.getCategoryId(), row.getCategoryName()));
+        }
+    }
+
+    @Query("select t.id as id, t.title as title, t.description as description from Ticket t")
+    List<TicketTextView> findAllTextViews();
+
+    // Comptages utilisés uniquement pour initialiser les statistiques au démarrage
+    @Query("select p.id as id, p.name as label, t.resolved as resolved, count(t) as total " +
+            "from Ticket t join t.priority p group by p.id, p.name, t.resolved")
+    List<TicketGroupCountView> countGroupByPriority();
+
+    @Query("select c.id as id, c.name as label, t.resolved as resolved, count(t) as total " +
+            "from Ticket t join t.categories c group by c.id, c.name, t.resolved")
+    List<TicketGroupCountView> countGroupByCategory();
+
+    @Query("select u.id as id, u.pseudo as label, t.resolved as resolved, count(t) as total " +
+            "from Ticket t join t.submittingUser u group by u.id, u.pseudo, t.resolved")
+    List<TicketGroupCountView> countGroupBySubmittingUser();
+
+    // Doit être consommé dans une transaction ; le curseur MySQL nécessite useCursorFetch=true
+    @Query("select t from Ticket t join fetch t.priority " +
+            "left join fetch t.submittingUser left join fetch t.resolvingUser order by t.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // Un export parcourt toute la table : il ne doit pas chasser les entrées utiles du cache de second niveau
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Ticket> streamAllForExport();
 }
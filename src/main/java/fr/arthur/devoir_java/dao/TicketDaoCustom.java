@@ -0,0 +1,77 @@
+package fr.arthur.devoir_java.dao;
+
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.view.Cursor;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TicketDaoCustom {
+
+    List<TicketWithPseudoView> search(TicketSearchCriteria criteria, Cursor cursor, int limit);
+
+    /**
+     * Résolution conditionnelle : deux administrateurs ne peuvent pas résoudre le même ticket.
+     * Si une version est fournie, le ticket ne doit pas avoir été modifié depuis que le client l'a lu.
+     * @return 1 si le ticket a été résolu, 0 s'il n'existe pas, est déjà résolu ou a changé de version
+     */
+    int resolveById(int id, Long version, User resolvingUser, long changeSeq);
+
+    /**
+     * Résout les tickets non résolus parmi ceux indiqués.
+     * @return le nombre de tickets réellement passés à l'état résolu
+     */
+    int resolveByIdIn(Collection<Integer> ids, User resolvingUser, long changeSeq);
+
+    /**
+     * Résout en une instruction tous les tickets non résolus correspondant aux critères.
+     * @return le nombre de tickets réellement passés à l'état résolu
+     */
+    int resolveMatching(TicketSearchCriteria criteria, User resolvingUser, long changeSeq);
+
+    /**
+     * Applique un patch par un UPDATE limité aux colonnes présentes ; la table de jointure
+     * n'est réécrite que si le patch contient les catégories.
+     * @return false si le ticket n'existe pas ou n'est plus dans la version indiquée par le patch
+     */
+    boolean patch(int id, TicketPatch patch, long changeSeq);
+
+    /**
+     * Prend un id dans la séquence ticket_seq sans insérer le ticket ; {@link fr.arthur.devoir_java.model.TicketIdGenerator}
+     * le conserve à l'insertion. Les ids sont alloués par blocs : la base n'est lue qu'une fois par bloc.
+     */
+    int allocateId();
+
+    /**
+     * Supprime le ticket et enregistre sa suppression dans le journal des modifications, dans la même transaction.
+     * @return false si le ticket n'existe pas
+     */
+    boolean deleteWithTombstone(int id, long changeSeq);
+
+    /**
+     * Supprime l'utilisateur avec les tickets qu'il a soumis ou résolus, chacun avec sa pierre tombale,
+     * dans la même transaction.
+     * @return les tickets supprimés, tels qu'avant la suppression
+     */
+    List<TicketWithPseudoView> deleteUserWithTombstones(int userId, long changeSeq);
+
+    /**
+     * Reporte un changement de l'utilisateur (son pseudo) sur les tickets qu'il a soumis ou résolus,
+     * pour que la synchronisation différentielle les renvoie.
+     * @return le nombre de tickets touchés
+     */
+    int touchByUser(int userId, long changeSeq);
+
+    /**
+     * Reporte un changement de la priorité (son nom) sur ses tickets, comme {@link #touchByUser(int, long)}.
+     * @return le nombre de tickets touchés
+     */
+    int touchByPriority(int priorityId, long changeSeq);
+
+    /**
+     * Reporte un changement de la catégorie (son nom) sur ses tickets, comme {@link #touchByUser(int, long)}.
+     * @return le nombre de tickets touchés
+     */
+    int touchByCategory(int categoryId, long changeSeq);
+}
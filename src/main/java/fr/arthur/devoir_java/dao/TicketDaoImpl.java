@@ -0,0 +1,349 @@
+package fr.arthur.devoir_java.dao;
+
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.TicketTombstone;
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.view.Cursor;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requêtes de tickets construites dynamiquement, complément de {@link TicketDao}.
+ */
+public class TicketDaoImpl implements TicketDaoCustom {
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    @PersistenceUnit
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<TicketWithPseudoView> search(TicketSearchCriteria criteria, Cursor cursor, int limit) {
+        // Seuls les critères renseignés sont ajoutés, pour que MySQL puisse choisir l'index composite adapté
+        StringBuilder jpql = new StringBuilder(TicketDao.VIEW_SELECT).append("where 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        appendCriteria(criteria, jpql, parameters);
+
+        if (cursor.isDescending()) {
+            jpql.append(" and t.id < :lastId order by t.id desc");
+        } else {
+            jpql.append(" and t.id > :lastId order by t.id asc");
+        }
+        parameters.put("lastId", cursor.getLastId());
+
+        TypedQuery<TicketWithPseudoView> query = entityManager.createQuery(jpql.toString(), TicketWithPseudoView.class);
+        parameters.forEach(query::setParameter);
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /*
+     * Les écritures ciblées sont des UPDATE conditionnels en SQL natif : la condition (non résolu, version lue)
+     * fait l'atomicité, sans relire ni verrouiller le ticket. Un UPDATE JPQL viderait toute la région "ticket"
+     * du cache de second niveau ; l'espace de synchronisation TARGETED_WRITE_SPACE ne correspond à aucune
+     * région, et seules les entrées des tickets touchés sont évincées.
+     */
+
+    // Aucune requête sur les tickets n'est en cache de requêtes : rien d'autre à invalider
+    protected static final String TARGETED_WRITE_SPACE = "ticket-targeted-write";
+
+    protected static final String CATEGORIES_ROLE = Ticket.class.getName() + ".categories";
+
+    protected static final String RESOLVE_SQL = "update ticket set resolved = true, resolving_user_id = :resolvingUserId, " +
+            "version = version + 1, change_seq = :changeSeq ";
+
+    @Override
+    @Transactional
+    public int resolveById(int id, Long version, User resolvingUser, long changeSeq) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", id);
+        parameters.put("resolvingUserId", resolvingUser.getId());
+        parameters.put("changeSeq", changeSeq);
+        String sql = RESOLVE_SQL + "where id = :id and resolved = false";
+
+        // Si une version est fournie, le ticket ne doit pas avoir été modifié depuis que le client l'a lu
+        if (version != null) {
+            sql += " and version = :version";
+            parameters.put("version", version);
+        }
+
+        return executeTargeted(sql, parameters, List.of(id));
+    }
+
+    @Override
+    @Transactional
+    public int resolveByIdIn(Collection<Integer> ids, User resolvingUser, long changeSeq) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("ids", ids);
+        parameters.put("resolvingUserId", resolvingUser.getId());
+        parameters.put("changeSeq", changeSeq);
+
+        // Les ids déjà résolus sont aussi évincés : leur entrée est simplement relue
+        return executeTargeted(RESOLVE_SQL + "where id in (:ids) and resolved = false", parameters, ids);
+    }
+
+    // Sans liste d'ids, le nombre de tickets n'est pas borné : un seul UPDATE, quitte à vider la région "ticket"
+    @Override
+    @Transactional
+    public int resolveMatching(TicketSearchCriteria criteria, User resolvingUser, long changeSeq) {
+        StringBuilder jpql = new StringBuilder("update Ticket t set t.resolved = true, t.resolvingUser = :resolvingUser")
+                .append(", t.version = t.version + 1, t.changeSeq = :changeSeq where t.resolved = false");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("resolvingUser", resolvingUser);
+        parameters.put("changeSeq", changeSeq);
+
+        appendCriteria(criteria, jpql, parameters);
+
+        Query query = entityManager.createQuery(jpql.toString());
+        parameters.forEach(query::setParameter);
+
+        int updated = query.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public boolean patch(int id, TicketPatch patch, long changeSeq) {
+        // Seules les colonnes présentes dans le patch figurent dans le SET ; la version et la séquence
+        // changent toujours, ce qui vérifie aussi la version d'un patch limité aux catégories
+        List<String> assignments = new ArrayList<>(List.of("version = version + 1", "change_seq = :changeSeq"));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", id);
+        parameters.put("changeSeq", changeSeq);
+        String where = " where id = :id";
+
+        if (patch.getVersion() != null) {
+            where += " and version = :version";
+            parameters.put("version", patch.getVersion());
+        }
+
+        if (patch.isHasTitle()) {
+            assignments.add("title = :title");
+            parameters.put("title", patch.getTitle());
+        }
+        if (patch.isHasDescription()) {
+            assignments.add("description = :description");
+            parameters.put("description", patch.getDescription());
+        }
+        if (patch.isHasPriority()) {
+            assignments.add("priority_id = :priorityId");
+            parameters.put("priorityId", patch.getPriorityId());
+        }
+
+        entityManager.flush();
+        if (nativeUpdate("update ticket set " + String.join(", ", assignments) + where, parameters) == 0) {
+            return false;
+        }
+
+        // La table de jointure n'est réécrite que si le patch contient les catégories, validées par l'appelant
+        if (patch.isHasCategories()) {
+            nativeUpdate("delete from ticket_category where ticket_id = :id", Map.of("id", id));
+
+            if (!patch.getCategoryIds().isEmpty()) {
+                Map<String, Object> rows = new HashMap<>();
+                rows.put("id", id);
+                List<String> values = new ArrayList<>();
+                for (int i = 0; i < patch.getCategoryIds().size(); i++) {
+                    values.add("(:id, :category" + i + ")");
+                    rows.put("category" + i, patch.getCategoryIds().get(i));
+                }
+                nativeUpdate("insert into ticket_category (ticket_id, category_id) values " + String.join(", ", values), rows);
+            }
+        }
+
+        entityManager.clear();
+        evict(List.of(id), patch.isHasCategories());
+        return true;
+    }
+
+    /**
+     * Exécute un UPDATE ciblé puis évince les tickets indiqués. Le contexte est partagé par la requête
+     * (open-in-view) : il est vidé pour qu'une relecture ne renvoie pas l'état antérieur.
+     */
+    protected int executeTargeted(String sql, Map<String, Object> parameters, Collection<Integer> ids) {
+        entityManager.flush();
+        int updated = nativeUpdate(sql, parameters);
+        entityManager.clear();
+        if (updated > 0) {
+            evict(ids, false);
+        }
+        return updated;
+    }
+
+    protected int nativeUpdate(String sql, Map<String, Object> parameters) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addSynchronizedQuerySpace(TARGETED_WRITE_SPACE);
+        parameters.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    /*
+     * Éviction immédiate, puis à nouveau après la fin de la transaction : une lecture concurrente
+     * de l'ancienne ligne, faite entre les deux, ne reste pas en cache.
+     */
+    protected void evict(Collection<Integer> ids, boolean categories) {
+        Runnable eviction = () -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            ids.forEach(id -> {
+                cache.evictEntityData(Ticket.class, id);
+                if (categories) {
+                    cache.evictCollectionData(CATEGORIES_ROLE, id);
+                }
+            });
+        };
+
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    // Session sans état ni transaction : elle ne prend une connexion que si le bloc d'ids en mémoire est épuisé
+    @Override
+    public int allocateId() {
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            BeforeExecutionGenerator generator = (BeforeExecutionGenerator) implementor.getFactory().getMappingMetamodel()
+                    .getEntityDescriptor(Ticket.class).getGenerator();
+            return (Integer) generator.generate(implementor, null, null, EventType.INSERT);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteWithTombstone(int id, long changeSeq) {
+        Ticket ticket = entityManager.find(Ticket.class, id);
+        if (ticket == null) {
+            return false;
+        }
+
+        entityManager.remove(ticket);
+        entityManager.merge(new TicketTombstone(id, changeSeq));
+        return true;
+    }
+
+    // Le cascade de User supprimerait les tickets sans pierre tombale : ils sont supprimés ici un par un
+    @Override
+    @Transactional
+    public List<TicketWithPseudoView> deleteUserWithTombstones(int userId, long changeSeq) {
+        User user = entityManager.find(User.class, userId);
+        if (user == null) {
+            return List.of();
+        }
+
+        List<Ticket> tickets = entityManager.createQuery(
+                        "select t from Ticket t where t.submittingUser.id = :userId or t.resolvingUser.id = :userId order by t.id",
+                        Ticket.class)
+                .setParameter("userId", userId)
+                .getResultList();
+
+        // Vues construites avant la suppression : les catégories ne sont plus chargeables ensuite
+        List<TicketWithPseudoView> deleted = tickets.stream().map(TicketWithPseudoView::of).toList();
+        for (Ticket ticket : tickets) {
+            entityManager.remove(ticket);
+            entityManager.merge(new TicketTombstone(ticket.getId(), changeSeq));
+        }
+        entityManager.remove(user);
+        return deleted;
+    }
+
+    // Seule la séquence change : la version reste celle lue par les clients, dont les écritures restent valides
+    @Override
+    @Transactional
+    public int touchByUser(int userId, long changeSeq) {
+        int updated = entityManager.createQuery(
+                        "update Ticket t set t.changeSeq = :changeSeq where t.submittingUser.id = :userId or t.resolvingUser.id = :userId")
+                .setParameter("changeSeq", changeSeq)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int touchByPriority(int priorityId, long changeSeq) {
+        return touch("t.priority.id = :referenceId", priorityId, changeSeq);
+    }
+
+    // Sous-requête corrélée sur la seule table de jointure : MySQL refuse de relire dans une sous-requête la table mise à jour
+    @Override
+    @Transactional
+    public int touchByCategory(int categoryId, long changeSeq) {
+        return touch("exists (select c.id from t.categories c where c.id = :referenceId)", categoryId, changeSeq);
+    }
+
+    protected int touch(String condition, int referenceId, long changeSeq) {
+        int updated = entityManager.createQuery("update Ticket t set t.changeSeq = :changeSeq where " + condition)
+                .setParameter("changeSeq", changeSeq)
+                .setParameter("referenceId", referenceId)
+                .executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    // Les clés étrangères sont lues directement sur t, ce qui reste valide dans un UPDATE sans jointure
+    protected void appendCriteria(TicketSearchCriteria criteria, StringBuilder jpql, Map<String, Object> parameters) {
+        if (criteria.getResolved() != null) {
+            jpql.append(" and t.resolved = :resolved");
+            parameters.put("resolved", criteria.getResolved());
+        }
+
+        if (criteria.getPriorityId() != null) {
+            jpql.append(" and t.priority.id = :priorityId");
+            parameters.put("priorityId", criteria.getPriorityId());
+        }
+
+        if (criteria.getSubmittingUserId() != null) {
+            jpql.append(" and t.submittingUser.id = :submittingUserId");
+            parameters.put("submittingUserId", criteria.getSubmittingUserId());
+        }
+
+        if (criteria.getResolvingUserId() != null) {
+            jpql.append(" and t.resolvingUser.id = :resolvingUserId");
+            parameters.put("resolvingUserId", criteria.getResolvingUserId());
+        }
+
+        if (criteria.getCategoryIds() != null && !criteria.getCategoryIds().isEmpty()) {
+            if (criteria.getCategoryMatch() == TicketSearchCriteria.CategoryMatch.ALL) {
+                jpql.append(" and (select count(distinct c.id) from Ticket tc join tc.categories c")
+                        .append(" where tc.id = t.id and c.id in :categoryIds) = :categoryCount");
+                parameters.put("categoryCount", (long) new HashSet<>(criteria.getCategoryIds()).size());
+            } else {
+                jpql.append(" and exists (select 1 from Ticket tc join tc.categories c")
+                        .append(" where tc.id = t.id and c.id in :categoryIds)");
+            }
+            parameters.put("categoryIds", criteria.getCategoryIds());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package fr.arthur.devoir_java.dao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Modification partielle d'un ticket au sens JSON Merge Patch (RFC 7396) :
+ * un champ absent est conservé, un champ à null est effacé.
+ * Les indicateurs "has..." distinguent l'absence d'un champ de sa remise à null.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketPatch {
+
+    protected static final Set<String> FIELDS = Set.of("title", "description", "priority", "categories", "version");
+
+    protected boolean hasTitle;
+
+    protected String title;
+
+    protected boolean hasDescription;
+
+    protected String description;
+
+    protected boolean hasPriority;
+
+    protected Integer priorityId;
+
+    protected boolean hasCategories;
+
+    protected List<Integer> categoryIds = new ArrayList<>();
+
+    // Version lue par le client ; null pour écraser sans contrôle
+    protected Long version;
+
+    /**
+     * Lit un document merge patch. Vide si le document modifie un champ inconnu ou non modifiable,
+     * efface un champ obligatoire ou référence une priorité ou une catégorie sans id.
+     */
+    public static Optional<TicketPatch> fromMergePatch(JsonNode document) {
+        if (document == null || !document.isObject()) {
+            return Optional.empty();
+        }
+
+        TicketPatch patch = new TicketPatch();
+        Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+
+            if (!FIELDS.contains(field.getKey())) {
+                return Optional.empty();
+            }
+
+            switch (field.getKey()) {
+                case "title" -> {
+                    if (!value.isTextual() || value.asText().isBlank()) {
+                        return Optional.empty();
+                    }
+                    patch.hasTitle = true;
+                    patch.title = value.asText();
+                }
+                case "description" -> {
+                    if (!value.isNull() && !value.isTextual()) {
+                        return Optional.empty();
+                    }
+                    patch.hasDescription = true;
+                    patch.description = value.isNull() ? null : value.asText();
+                }
+                case "priority" -> {
+                    if (!value.path("id").canConvertToInt()) {
+                        return Optional.empty();
+                    }
+                    patch.hasPriority = true;
+                    patch.priorityId = value.get("id").asInt();
+                }
+                case "categories" -> {
+                    // null vide la liste, un tableau la remplace entièrement
+                    if (!value.isNull() && !value.isArray()) {
+                        return Optional.empty();
+                    }
+                    for (JsonNode category : value) {
+                        if (!category.path("id").canConvertToInt()) {
+                            return Optional.empty();
+                        }
+                        if (!patch.categoryIds.contains(category.get("id").asInt())) {
+                            patch.categoryIds.add(category.get("id").asInt());
+                        }
+                    }
+                    patch.hasCategories = true;
+                }
+                case "version" -> {
+                    if (!value.isNull() && !value.canConvertToLong()) {
+                        return Optional.empty();
+                    }
+                    patch.version = value.isNull() ? null : value.asLong();
+                }
+            }
+        }
+
+        return Optional.of(patch);
+    }
+}
@@ -0,0 +1,21 @@
+package fr.arthur.devoir_java.dao;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Corps de la résolution en masse : soit une liste d'ids, soit un filtre, jamais les deux.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketResolveRequest {
+
+    protected List<Integer> ids;
+
+    // Un filtre vide ({}) cible explicitement tous les tickets non résolus
+    protected TicketSearchCriteria filter;
+}
@@ -0,0 +1,33 @@
+package fr.arthur.devoir_java.dao;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Filtres de la recherche de tickets. Un critère null est ignoré.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketSearchCriteria {
+
+    protected Boolean resolved;
+
+    protected Integer priorityId;
+
+    protected List<Integer> categoryIds;
+
+    // ANY : au moins une des catégories, ALL : toutes les catégories
+    protected CategoryMatch categoryMatch = CategoryMatch.ANY;
+
+    protected Integer submittingUserId;
+
+    protected Integer resolvingUserId;
+
+    public enum CategoryMatch {
+        ANY, ALL
+    }
+}
@@ -0,0 +1,25 @@
+package fr.arthur.devoir_java.dao;
+
+import fr.arthur.devoir_java.model.TicketTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface TicketTombstoneDao extends JpaRepository<TicketTombstone, Integer> {
+
+    // Même parcours par clé que TicketDao.findChangesAfter, sur les tickets supprimés
+    @Query("select tt from TicketTombstone tt " +
+            "where (tt.changeSeq > :changeSeq or (tt.changeSeq = :changeSeq and tt.ticketId > :lastId)) " +
+            "and tt.changeSeq <= :watermark order by tt.changeSeq, tt.ticketId")
+    List<TicketTombstone> findChangesAfter(@Param("changeSeq") long changeSeq, @Param("lastId") int lastId,
+                                           @Param("watermark") long watermark, Limit limit);
+
+    @Query("select coalesce(max(tt.changeSeq), 0) from TicketTombstone tt")
+    long findMaxChangeSeq();
+}
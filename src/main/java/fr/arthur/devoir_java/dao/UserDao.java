@@ -1,13 +1,35 @@
 package fr.arthur.devoir_java.dao;
 
 import fr.arthur.devoir_java.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserDao extends JpaRepository<User, Integer> {
 
+    // Appelée à chaque requête authentifiée : résultat mis en cache, invalidé par toute écriture sur users
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-pseudo")
+    })
     Optional<User> findByPseudo(String pseudo);
+
+    @Query("select u.pseudo from User u")
+    List<String> findAllPseudos();
+
+    // Réécriture du hachage à la connexion quand son coût est dépassé
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.pseudo = :pseudo")
+    int updatePassword(@Param("pseudo") String pseudo, @Param("password") String password);
 }
@@ -0,0 +1,17 @@
+package fr.arthur.devoir_java.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publié après une mise à jour ensembliste (UPDATE ... WHERE) dont les tickets ne sont pas relus un par un.
+ * Les vues en mémoire concernées se reconstruisent depuis la base au lieu d'appliquer un delta.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketBulkChangeEvent {
+
+    protected TicketChangeEvent.Type type;
+
+    protected int count;
+}
@@ -0,0 +1,46 @@
+package fr.arthur.devoir_java.event;
+
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publié par le contrôleur après chaque écriture d'un ticket, une fois la transaction validée.
+ * Les index et vues en mémoire s'en servent pour rester à jour sans relire la base.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketChangeEvent {
+
+    protected Type type;
+
+    // null à la création
+    protected TicketWithPseudoView before;
+
+    // null à la suppression
+    protected TicketWithPseudoView after;
+
+    public static TicketChangeEvent created(TicketWithPseudoView after) {
+        return new TicketChangeEvent(Type.CREATED, null, after);
+    }
+
+    public static TicketChangeEvent updated(TicketWithPseudoView before, TicketWithPseudoView after) {
+        return new TicketChangeEvent(Type.UPDATED, before, after);
+    }
+
+    public static TicketChangeEvent resolved(TicketWithPseudoView before, TicketWithPseudoView after) {
+        return new TicketChangeEvent(Type.RESOLVED, before, after);
+    }
+
+    public static TicketChangeEvent deleted(TicketWithPseudoView before) {
+        return new TicketChangeEvent(Type.DELETED, before, null);
+    }
+
+    public Integer getTicketId() {
+        return after != null ? after.getId() : before.getId();
+    }
+
+    public enum Type {
+        CREATED, UPDATED, RESOLVED, DELETED
+    }
+}
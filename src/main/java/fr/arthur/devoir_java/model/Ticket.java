@@ -6,6 +6,11 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
@@ -14,11 +19,25 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ticket")
+@DynamicUpdate
+@Table(indexes = {
+        // Index composites de la recherche multicritère, terminés par l'id pour la pagination par clé
+        @Index(name = "idx_ticket_resolved_id", columnList = "resolved, id"),
+        @Index(name = "idx_ticket_priority_resolved_id", columnList = "priority_id, resolved, id"),
+        @Index(name = "idx_ticket_submitting_user_resolved_id", columnList = "submitting_user_id, resolved, id"),
+        @Index(name = "idx_ticket_resolving_user_id", columnList = "resolving_user_id, id"),
+        // Synchronisation différentielle : parcours par clé (séquence, id) depuis la position du client
+        @Index(name = "idx_ticket_change_seq_id", columnList = "change_seq, id")
+})
 public class Ticket {
 
 
+    // Séquence allouée par blocs : contrairement à IDENTITY, Hibernate connaît l'id avant l'INSERT
+    // et peut donc regrouper les insertions en lots JDBC (création en masse)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TicketId
     protected Integer id;
 
 
@@ -33,14 +52,30 @@ public class Ticket {
     @Column(nullable = false)
     protected boolean resolved;
 
+    // Verrouillage optimiste : une écriture basée sur une version périmée est refusée (409)
+    @Version
+    @Column(nullable = false)
+    protected Long version;
+
+    // Numéro de la dernière écriture, attribué par TicketChangeLog ; 0 pour les tickets chargés au démarrage
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    protected long changeSeq;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "priority_id", nullable = false)
     protected Priority priority;
 
     @ManyToMany
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ticket-categories")
     @JoinTable(name = "ticket_category",
             joinColumns = @JoinColumn(name = "ticket_id"),
-            inverseJoinColumns = @JoinColumn(name = "category_id")
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = {
+                    @Index(name = "idx_ticket_category_category_ticket", columnList = "category_id, ticket_id"),
+                    @Index(name = "idx_ticket_category_ticket_category", columnList = "ticket_id, category_id")
+            }
     )
     protected List<Category> categories;
 
@@ -0,0 +1,17 @@
+package fr.arthur.devoir_java.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifiant de ticket généré par {@link TicketIdGenerator}.
+ */
+@IdGeneratorType(TicketIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TicketId {
+}
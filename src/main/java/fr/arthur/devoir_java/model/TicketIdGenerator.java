@@ -0,0 +1,35 @@
+package fr.arthur.devoir_java.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Séquence ticket_seq allouée par blocs de 50 à partir de 1000. Un id déjà pris dans la séquence
+ * avant l'insertion (écriture différée, cf. TicketIngestionQueue) est conservé au lieu d'être remplacé.
+ */
+public class TicketIdGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.put(SEQUENCE_PARAM, "ticket_seq");
+        parameters.put(INITIAL_PARAM, "1000");
+        parameters.put(INCREMENT_PARAM, "50");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return currentValue != null ? currentValue : generate(session, owner);
+    }
+}
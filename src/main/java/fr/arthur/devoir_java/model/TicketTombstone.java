@@ -0,0 +1,27 @@
+package fr.arthur.devoir_java.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Trace d'un ticket supprimé, pour que les clients en synchronisation différentielle
+ * retirent aussi le ticket de leur copie locale.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_ticket_tombstone_change_seq_ticket", columnList = "change_seq, ticket_id"))
+public class TicketTombstone {
+
+    // Les ids de tickets viennent d'une séquence et ne sont jamais réattribués
+    @Id
+    protected Integer ticketId;
+
+    @Column(nullable = false)
+    protected long changeSeq;
+}
@@ -1,6 +1,7 @@
 package fr.arthur.devoir_java.security;
 
 import fr.arthur.devoir_java.model.User;
+import io.jsonwebtoken.Claims;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,6 +19,18 @@ public class AppUserDetails implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * Utilisateur reconstruit depuis un jeton, sans accès à la base : seuls l'id, le pseudo et le rôle
+     * sont renseignés. L'id suffit pour l'utiliser comme référence (clé étrangère) dans une écriture.
+     */
+    public static AppUserDetails fromClaims(Claims claims) {
+        User user = new User();
+        user.setId(claims.get(JwtUtils.USER_ID_CLAIM, Integer.class));
+        user.setPseudo(claims.getSubject());
+        user.setAdmin(Boolean.TRUE.equals(claims.get(JwtUtils.ADMIN_CLAIM, Boolean.class)));
+        return new AppUserDetails(user);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if (user.isAdmin()) {
@@ -4,6 +4,7 @@ import fr.arthur.devoir_java.dao.UserDao;
 import fr.arthur.devoir_java.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     protected UserDao userDao;
@@ -27,4 +28,14 @@ public class AppUserDetailsService implements UserDetailsService {
 
         return new AppUserDetails(user.get());
     }
-}
\ No newline at end of file
+
+    // Appelé par le DaoAuthenticationProvider après une connexion réussie si le hachage doit être mis à niveau
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userDao.updatePassword(userDetails.getUsername(), newPassword);
+
+        User user = ((AppUserDetails) userDetails).getUser();
+        user.setPassword(newPassword);
+        return new AppUserDetails(user);
+    }
+}
@@ -0,0 +1,40 @@
+package fr.arthur.devoir_java.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Choisit au démarrage le coût BCrypt le plus élevé dont le hachage tient dans la latence cible
+ * sur cette machine, pour garder un coût CPU de connexion prévisible quand le matériel change.
+ */
+public final class BCryptStrengthCalibrator {
+
+    protected static final String SAMPLE = "calibration-bcrypt";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        // Quelques hachages à coût minimal pour que le JIT ne fausse pas la première mesure
+        for (int i = 0; i < 3; i++) {
+            BCrypt.hashpw(SAMPLE, BCrypt.gensalt(4));
+        }
+
+        int strength = minStrength;
+        long elapsed = measure(strength);
+        // Chaque point de coût double le temps de hachage : on monte tant que le suivant tient dans la cible
+        while (strength < maxStrength && elapsed * 2 <= target.toNanos()) {
+            strength++;
+            elapsed = measure(strength);
+        }
+        return strength;
+    }
+
+    protected static long measure(int strength) {
+        String salt = BCrypt.gensalt(strength);
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE, salt);
+        return System.nanoTime() - start;
+    }
+}
@@ -1,19 +1,23 @@
 package fr.arthur.devoir_java.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -22,27 +26,69 @@ public class JwtFilter extends OncePerRequestFilter {
     JwtUtils jwtUtils;
 
     @Autowired
-    UserDetailsService userDetailsService;
+    UserCache userCache;
+
+    // Sans état : l'authentification est construite depuis les claims du jeton, sans lecture de l'utilisateur.
+    // Un changement de droits ne s'applique alors qu'à l'expiration du jeton.
+    @Value("${jwt.stateless:false}")
+    boolean stateless;
+
+    // Coût de l'authentification seule, hors traitement de la requête par la suite de la chaîne
+    protected final Timer anonymous;
+
+    protected final Timer authenticated;
+
+    protected final Timer rejected;
+
+    public JwtFilter(MeterRegistry registry) {
+        anonymous = timer(registry, "anonymous");
+        authenticated = timer(registry, "authenticated");
+        rejected = timer(registry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        // Jeton invalide ou utilisateur introuvable : l'exception remonte et la mesure reste "rejected"
+        Timer outcome = rejected;
+        try {
+            outcome = authenticate(request) ? authenticated : anonymous;
+        } finally {
+            outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // false si la requête ne porte pas de jeton
+    protected boolean authenticate(HttpServletRequest request) {
         String token = request.getHeader("Authorization");
 
-        if (token != null && token.startsWith("Bearer ")) {
+        if (token == null || !token.startsWith("Bearer ")) {
+            return false;
+        }
 
-            String jwt = token.substring(7);
-            String email = jwtUtils.extractSubject(jwt);
+        String jwt = token.substring(7);
+        Claims claims = jwtUtils.extractClaims(jwt);
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        // Les jetons émis avant l'ajout des claims ne portent que le pseudo
+        UserDetails userDetails = stateless && claims.get(JwtUtils.USER_ID_CLAIM) != null
+                ? AppUserDetails.fromClaims(claims)
+                : userCache.get(claims.getSubject());
 
-            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            usernamePasswordAuthenticationToken
-                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-        }
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        usernamePasswordAuthenticationToken
+                .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        return true;
+    }
 
-        filterChain.doFilter(request, response);
+    protected static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.jwt.filter")
+                .description("Authentification d'une requête par le filtre JWT")
+                .tag("outcome", outcome)
+                .register(registry);
     }
-}
\ No newline at end of file
+}
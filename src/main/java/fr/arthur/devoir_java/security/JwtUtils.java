@@ -1,40 +1,143 @@
 package fr.arthur.devoir_java.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+
 @Service
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String ADMIN_CLAIM = "admin";
 
     @Value("${jwt.secret}")
     String jwtSecret;
 
+    @Value("${jwt.expiration:24h}")
+    Duration jwtExpiration;
+
+    @Value("${jwt.claims-cache.max-size:10000}")
+    long claimsCacheMaxSize;
+
+    @Value("${jwt.claims-cache.ttl:10m}")
+    Duration claimsCacheTtl;
+
+    // Clé dérivée une seule fois du secret (même décodage base64 que signWith(alg, String))
+    protected Key signingKey;
+
+    // Empreinte SHA-256 du jeton -> claims déjà vérifiés ; une entrée ne survit pas à l'expiration du jeton
+    protected Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    public void init() {
+        signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtSecret), SignatureAlgorithm.HS512.getJcaName());
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ClaimsExpiry(claimsCacheTtl))
+                .recordStats()
+                .build();
+    }
+
+    // Le jeton porte l'id et le rôle : en mode sans état, le filtre n'a plus besoin de relire l'utilisateur
     public String generateToken(AppUserDetails userDetails) {
+        Date issuedAt = new Date();
 
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .claim(USER_ID_CLAIM, userDetails.getUser().getId())
+                .claim(ADMIN_CLAIM, userDetails.getUser().isAdmin())
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + jwtExpiration.toMillis()))
+                .signWith(SignatureAlgorithm.HS512, signingKey)
                 .compact();
 
     }
 
     public String generateToken(UserDetails userDetails) {
+        Date issuedAt = new Date();
 
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .signWith(SignatureAlgorithm.HS512, jwtSecret).compact();
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + jwtExpiration.toMillis()))
+                .signWith(SignatureAlgorithm.HS512, signingKey).compact();
     }
 
-    public String extractSubject(String jwt) {
+    /**
+     * Vérifie la signature et l'expiration. Un client réutilise le même jeton sur des milliers de requêtes :
+     * seule la première est vérifiée, les suivantes sont servies depuis le cache.
+     * Les claims retournés sont partagés et ne doivent pas être modifiés.
+     */
+    public Claims extractClaims(String jwt) {
 
-        return Jwts.parser()
-                .setSigningKey(jwtSecret)
+        return verifiedClaims.get(sha256(jwt), key -> Jwts.parser()
+                .setSigningKey(signingKey)
                 .parseClaimsJws(jwt)
-                .getBody()
-                .getSubject();
+                .getBody());
     }
 
-}
\ No newline at end of file
+    public String extractSubject(String jwt) {
+
+        return extractClaims(jwt).getSubject();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedClaims, "jwt-claims");
+    }
+
+    // Le jeton lui-même n'est pas gardé en mémoire comme clé
+    protected static String sha256(String jwt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(jwt.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Durée de vie d'une entrée : jusqu'à l'expiration du jeton, sans dépasser la durée maximale du cache
+    protected record ClaimsExpiry(Duration maxTtl) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long ttl = maxTtl.toNanos();
+            if (claims.getExpiration() != null) {
+                long untilExpiration = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+                ttl = Math.max(0, Math.min(ttl, untilExpiration));
+            }
+            return ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package fr.arthur.devoir_java.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Pool dédié au hachage des mots de passe (BCrypt), pour qu'un afflux de connexions n'occupe pas
+ * tous les threads Tomcat au détriment des tickets. Borné en threads (un par cœur par défaut)
+ * et en file d'attente : au-delà, la tâche est refusée avec {@link PasswordHashingSaturatedException}.
+ * La durée du calcul lui-même est mesurée par {@link TimedPasswordEncoder}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    protected final ThreadPoolExecutor executor;
+
+    protected final Duration retryAfter;
+
+    protected final Timer queueWait;
+
+    protected final Counter rejected;
+
+    public PasswordHashingExecutor(@Value("${auth.password-hashing.threads:0}") int threads,
+                                   @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${auth.password-hashing.retry-after:2s}") Duration retryAfter,
+                                   MeterRegistry registry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+
+        queueWait = Timer.builder("auth.password.hashing.queue.wait")
+                .description("Attente dans la file avant le hachage")
+                .register(registry);
+        rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Tâches refusées, pool saturé")
+                .register(registry);
+        Gauge.builder("auth.password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .register(registry);
+    }
+
+    // Le refus est synchrone : l'appelant peut répondre 503 avant d'avoir libéré le thread de requête
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingSaturatedException(retryAfter);
+        }
+    }
+
+    /**
+     * Exécute la tâche sur le pool et attend son résultat depuis un thread virtuel de requête : l'attente
+     * ne bloque aucun thread porteur, et l'appelant garde pour lui les accès à la base. Un thread classique
+     * resterait bloqué le temps du calcul de toute façon : la tâche y est exécutée directement.
+     */
+    public <T> T call(Supplier<T> task) {
+        if (!Thread.currentThread().isVirtual()) {
+            return task.get();
+        }
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,19 @@
+package fr.arthur.devoir_java.security;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Levée quand le pool de hachage est saturé ; traduite en 503 avec l'en-tête Retry-After.
+ */
+@Getter
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingSaturatedException(Duration retryAfter) {
+        super("Le service d'authentification est saturé");
+        this.retryAfter = retryAfter;
+    }
+}
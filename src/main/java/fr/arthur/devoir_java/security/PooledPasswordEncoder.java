@@ -0,0 +1,36 @@
+package fr.arthur.devoir_java.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Encodeur du fournisseur d'authentification : seuls les calculs BCrypt passent par le
+ * {@link PasswordHashingExecutor}, la lecture de l'utilisateur et la réécriture du hachage
+ * restent sur le thread de requête et n'occupent pas les threads du pool.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    protected final PasswordEncoder delegate;
+
+    protected final PasswordHashingExecutor executor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Simple lecture du préfixe et du coût : pas besoin du pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,6 +1,7 @@
 package fr.arthur.devoir_java.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +13,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -30,23 +32,33 @@ public class SecurityConfig {
     @Autowired
     protected UserDetailsService userDetailsService;
 
+    @Autowired
+    protected UserDetailsPasswordService userDetailsPasswordService;
+
+    @Autowired
+    protected PasswordHashingExecutor passwordHashingExecutor;
+
     @Autowired
     protected JwtFilter jwtFilter;
 
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    // Port interne des endpoints actuator ; -1 : servis sur le port public
+    @Value("${management.server.port:-1}")
+    protected int managementPort;
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider auth = new DaoAuthenticationProvider();
-        auth.setPasswordEncoder(passwordEncoder);
+        // BCrypt sur le pool borné ; lecture de l'utilisateur et réécriture du hachage sur le thread de requête
+        auth.setPasswordEncoder(new PooledPasswordEncoder(passwordEncoder, passwordHashingExecutor));
         auth.setUserDetailsService(userDetailsService);
+        // Réécrit à la connexion les hachages sans préfixe ou à un coût BCrypt inférieur à l'actuel
+        auth.setUserDetailsPasswordService(userDetailsPasswordService);
         return auth;
     }
 
-    // TODO : Ajouter une route pour get les tickets non résolus sans auth
-    // TODO : Pareil pour get les tickets non résolus /id
-
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -54,10 +66,17 @@ public class SecurityConfig {
                 .authorizeHttpRequests((auth -> auth
                         // Endpoints publics
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/ticket/unresolved", "/api/ticket/unresolved/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/ticket/**").permitAll()
                         .requestMatchers(HttpMethod.PUT, "/api/ticket/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/priority/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/category/**").permitAll()
+                        // Sonde de santé sans jeton
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        // Scraper Prometheus sans jeton sur le port interne seulement ; sur le port public, jeton exigé
+                        .requestMatchers(request -> HttpMethod.GET.matches(request.getMethod())
+                                && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
 
                         // Endpoints admin
                         .requestMatchers("/api/user/**").hasRole("ADMIN").
@@ -0,0 +1,45 @@
+package fr.arthur.devoir_java.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Chronomètre les appels BCrypt seuls, hors attente dans le pool de hachage et hors lecture de l'utilisateur.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    protected final PasswordEncoder delegate;
+
+    protected final Timer encodeTime;
+
+    protected final Timer matchesTime;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        encodeTime = Timer.builder("auth.password.bcrypt")
+                .description("Durée d'un appel BCrypt")
+                .tag("operation", "encode")
+                .register(registry);
+        matchesTime = Timer.builder("auth.password.bcrypt")
+                .description("Durée d'un appel BCrypt")
+                .tag("operation", "matches")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTime.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTime.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Simple lecture du préfixe et du coût : rien à mesurer
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,79 @@
+package fr.arthur.devoir_java.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Utilisateurs authentifiés par JWT, gardés en mémoire pour ne pas relire la base à chaque requête.
+ * Borné en taille et en durée ; les écritures sur un utilisateur doivent appeler {@link #evict(String)}
+ * pour qu'un changement de droits s'applique dès la requête suivante.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    protected final Cache<String, UserDetails> cache;
+
+    // Générations d'éviction par tranche de pseudos : un chargement commencé avant une éviction
+    // ne doit pas réinsérer l'utilisateur lu avant l'écriture
+    protected final AtomicLongArray generations = new AtomicLongArray(64);
+
+    protected final UserDetailsService userDetailsService;
+
+    public UserCache(UserDetailsService userDetailsService,
+                     @Value("${jwt.user-cache.max-size:10000}") long maxSize,
+                     @Value("${jwt.user-cache.ttl:5m}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Un pseudo inconnu lève UsernameNotFoundException et n'est pas mis en cache.
+    // Chargement hors de cache.get(key, loader) : le calcul s'y fait sous le verrou d'une entrée de
+    // ConcurrentHashMap et une requête SQL y épinglerait le thread virtuel. Deux requêtes simultanées
+    // sur le même pseudo peuvent le charger deux fois ; seule la mise en cache est protégée.
+    public UserDetails get(String pseudo) {
+        UserDetails cached = cache.getIfPresent(pseudo);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(pseudo);
+        long generation = generations.get(stripe);
+        UserDetails loaded = userDetailsService.loadUserByUsername(pseudo);
+
+        // Sous le verrou de l'entrée, comme l'invalidation : une éviction survenue pendant la lecture
+        // est soit vue ici, soit appliquée après l'insertion
+        cache.asMap().compute(pseudo, (key, current) ->
+                generations.get(stripe) == generation ? loaded : current);
+        return loaded;
+    }
+
+    public void evict(String pseudo) {
+        if (pseudo != null) {
+            generations.incrementAndGet(stripe(pseudo));
+            cache.invalidate(pseudo);
+        }
+    }
+
+    protected int stripe(String pseudo) {
+        return Math.floorMod(pseudo.hashCode(), generations.length());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt-users");
+    }
+}
@@ -0,0 +1,145 @@
+package fr.arthur.devoir_java.service;
+
+import fr.arthur.devoir_java.dao.UserDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Filtre de Bloom sur les pseudos existants, pour que l'inscription d'un pseudo nouveau évite
+ * la lecture en base. Une réponse négative est certaine ; une réponse positive peut être fausse
+ * et se vérifie en base. La contrainte d'unicité sur users.pseudo reste l'arbitre final :
+ * un ajout manqué ne fait que laisser l'insertion échouer en 409.
+ * Un filtre de Bloom ne sait pas retirer : les suppressions sont comptées et le filtre
+ * est reconstruit quand elles dégradent trop le taux de faux positifs.
+ */
+@Service
+public class PseudoBloomFilter {
+
+    protected final AtomicReference<Bits> bits = new AtomicReference<>();
+
+    protected final AtomicLong removed = new AtomicLong();
+
+    // Sérialise les reconstructions, qui lisent la base (voir ReferenceDataCache.refreshLock)
+    protected final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Autowired
+    protected UserDao userDao;
+
+    @Value("${users.pseudo-filter.expected-insertions:100000}")
+    protected long expectedInsertions;
+
+    @Value("${users.pseudo-filter.false-positive-rate:0.01}")
+    protected double falsePositiveRate;
+
+    // Part de pseudos supprimés au-delà de laquelle le filtre est reconstruit
+    @Value("${users.pseudo-filter.rebuild-ratio:0.1}")
+    protected double rebuildRatio;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<String> pseudos = userDao.findAllPseudos();
+            Bits rebuilt = new Bits(Math.max(expectedInsertions, pseudos.size() * 2L), falsePositiveRate);
+            pseudos.forEach(rebuilt::put);
+            bits.set(rebuilt);
+            removed.set(0);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Tant que le filtre n'est pas chargé, tout pseudo est considéré comme possiblement pris
+    public boolean mightContain(String pseudo) {
+        Bits current = bits.get();
+        return current == null || current.mightContain(pseudo);
+    }
+
+    public void put(String pseudo) {
+        Bits current = bits.get();
+        if (current != null && pseudo != null) {
+            current.put(pseudo);
+        }
+    }
+
+    public void remove(String pseudo) {
+        Bits current = bits.get();
+        if (current != null && removed.incrementAndGet() > current.inserted.get() * rebuildRatio) {
+            rebuild();
+        }
+    }
+
+    protected static class Bits {
+
+        protected final AtomicLongArray words;
+
+        protected final long size;
+
+        protected final int hashCount;
+
+        protected final AtomicLong inserted = new AtomicLong();
+
+        // Dimensionnement classique : m = -n ln p / (ln 2)², k = m/n ln 2
+        protected Bits(long expectedInsertions, double falsePositiveRate) {
+            long bitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bitCount + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+        }
+
+        protected void put(String pseudo) {
+            long hash1 = hash(pseudo);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(hash1 + i * hash2, size);
+                long mask = 1L << index;
+                int word = (int) (index >>> 6);
+                long previous;
+                do {
+                    previous = words.get(word);
+                } while ((previous & mask) == 0 && !words.compareAndSet(word, previous, previous | mask));
+            }
+            inserted.incrementAndGet();
+        }
+
+        protected boolean mightContain(String pseudo) {
+            long hash1 = hash(pseudo);
+            long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(hash1 + i * hash2, size);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a 64 bits puis brassage, pour deux hachages indépendants (double hachage de Kirsch-Mitzenmacher)
+        protected static long hash(String pseudo) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < pseudo.length(); i++) {
+                hash ^= pseudo.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        protected static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb93e7f7a8c5bL;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
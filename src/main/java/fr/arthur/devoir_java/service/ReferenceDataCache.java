@@ -0,0 +1,123 @@
+package fr.arthur.devoir_java.service;
+
+import fr.arthur.devoir_java.dao.CategoryDao;
+import fr.arthur.devoir_java.dao.PriorityDao;
+import fr.arthur.devoir_java.model.Category;
+import fr.arthur.devoir_java.model.Priority;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Priorités et catégories en mémoire : quelques lignes lues à chaque écriture de ticket.
+ * Le cache est un instantané immuable remplacé d'un bloc après chaque écriture des contrôleurs
+ * de référence ; les lecteurs ne voient jamais un état à moitié rechargé.
+ * Les objets servis sont des copies détachées, à ne pas modifier.
+ */
+@Service
+public class ReferenceDataCache {
+
+    protected final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    // Verrou explicite plutôt que synchronized : un thread virtuel qui attend la base n'épingle pas son porteur
+    protected final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Autowired
+    protected PriorityDao priorityDao;
+
+    @Autowired
+    protected CategoryDao categoryDao;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            snapshot.set(new Snapshot(loadPriorities(), loadCategories()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void refreshPriorities() {
+        refreshLock.lock();
+        try {
+            snapshot.set(new Snapshot(loadPriorities(), snapshot().categories()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void refreshCategories() {
+        refreshLock.lock();
+        try {
+            snapshot.set(new Snapshot(snapshot().priorities(), loadCategories()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public List<Priority> getPriorities() {
+        return List.copyOf(snapshot().priorities().values());
+    }
+
+    public List<Category> getCategories() {
+        return List.copyOf(snapshot().categories().values());
+    }
+
+    public Optional<Priority> findPriority(int id) {
+        return Optional.ofNullable(snapshot().priorities().get(id));
+    }
+
+    public Optional<Category> findCategory(int id) {
+        return Optional.ofNullable(snapshot().categories().get(id));
+    }
+
+    // Même contrat que findAllById : les ids inconnus sont ignorés
+    public List<Priority> findPrioritiesById(Collection<Integer> ids) {
+        Map<Integer, Priority> priorities = snapshot().priorities();
+        return ids.stream().distinct().map(priorities::get).filter(Objects::nonNull).toList();
+    }
+
+    public List<Category> findCategoriesById(Collection<Integer> ids) {
+        Map<Integer, Category> categories = snapshot().categories();
+        return ids.stream().distinct().map(categories::get).filter(Objects::nonNull).toList();
+    }
+
+    // Chargé à la première lecture si l'application n'a pas encore signalé son démarrage
+    protected Snapshot snapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    protected Map<Integer, Priority> loadPriorities() {
+        Map<Integer, Priority> priorities = new LinkedHashMap<>();
+        priorityDao.findAll().forEach(priority ->
+                priorities.put(priority.getId(), new Priority(priority.getId(), priority.getName())));
+        return Collections.unmodifiableMap(priorities);
+    }
+
+    protected Map<Integer, Category> loadCategories() {
+        Map<Integer, Category> categories = new LinkedHashMap<>();
+        categoryDao.findAll().forEach(category ->
+                categories.put(category.getId(), new Category(category.getId(), category.getName())));
+        return Collections.unmodifiableMap(categories);
+    }
+
+    protected record Snapshot(Map<Integer, Priority> priorities, Map<Integer, Category> categories) {
+    }
+}
@@ -0,0 +1,133 @@
+package fr.arthur.devoir_java.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.dao.TicketTombstoneDao;
+import fr.arthur.devoir_java.model.TicketTombstone;
+import fr.arthur.devoir_java.view.ChangeCursor;
+import fr.arthur.devoir_java.view.TicketChangeRowView;
+import fr.arthur.devoir_java.view.TicketChangesView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Journal des modifications de tickets pour la synchronisation différentielle des clients.
+ * Chaque écriture reçoit un numéro de séquence croissant, porté par le ticket ou par sa pierre tombale ;
+ * un client repart de la dernière position reçue au lieu de relire toute la liste.
+ */
+@Service
+public class TicketChangeLog {
+
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    // Séquences attribuées dont l'écriture n'est pas encore validée
+    protected final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    protected long lastChangeSeq;
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @Autowired
+    protected TicketTombstoneDao ticketTombstoneDao;
+
+    // Avant l'ouverture aux requêtes : une écriture ne doit jamais recevoir une séquence déjà en base
+    @PostConstruct
+    public void init() {
+        long persisted = Math.max(ticketDao.findMaxChangeSeq(), ticketTombstoneDao.findMaxChangeSeq());
+
+        lock.lock();
+        try {
+            lastChangeSeq = Math.max(lastChangeSeq, persisted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Exécute une écriture avec une nouvelle séquence. Tant qu'elle n'est pas terminée, les lectures
+     * du journal s'arrêtent avant cette séquence : une écriture validée après une autre plus récente
+     * ne peut donc pas être sautée par un client.
+     */
+    public <T> T write(LongFunction<T> write) {
+        long changeSeq;
+
+        lock.lock();
+        try {
+            changeSeq = ++lastChangeSeq;
+            inFlight.add(changeSeq);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            return write.apply(changeSeq);
+        } finally {
+            inFlight.remove(changeSeq);
+        }
+    }
+
+    // Plus grande séquence dont toutes les écritures, et celles qui la précèdent, sont terminées
+    public long watermark() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? lastChangeSeq : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public TicketChangesView changesSince(ChangeCursor cursor, int limit) {
+        long watermark = watermark();
+
+        // Tickets et pierres tombales sont lus chacun dans l'ordre (séquence, id) puis fusionnés
+        List<Change> changes = Stream.concat(
+                        ticketDao.findChangesAfter(cursor.getChangeSeq(), cursor.getLastId(), watermark, Limit.of(limit + 1))
+                                .stream().map(Change::of),
+                        ticketTombstoneDao.findChangesAfter(cursor.getChangeSeq(), cursor.getLastId(), watermark, Limit.of(limit + 1))
+                                .stream().map(Change::of))
+                .sorted(Comparator.comparingLong(Change::changeSeq).thenComparingInt(Change::id))
+                .limit(limit + 1)
+                .toList();
+
+        boolean hasMore = changes.size() > limit;
+        List<Change> page = hasMore ? changes.subList(0, limit) : changes;
+
+        List<Integer> updatedIds = new ArrayList<>();
+        List<Integer> deletedIds = new ArrayList<>();
+        page.forEach(change -> (change.deleted() ? deletedIds : updatedIds).add(change.id()));
+
+        List<TicketWithPseudoView> tickets = updatedIds.isEmpty() ? List.of() : ticketDao.findViewsByIdIn(updatedIds).stream()
+                .sorted(Comparator.comparingInt(ticket -> updatedIds.indexOf(ticket.getId())))
+                .toList();
+        ticketDao.attachCategories(tickets);
+
+        // Page complète : le client est à jour jusqu'au filigrane, même si les dernières séquences n'ont rien touché
+        ChangeCursor next = hasMore
+                ? new ChangeCursor(page.get(limit - 1).changeSeq(), page.get(limit - 1).id())
+                : ChangeCursor.after(Math.max(cursor.getChangeSeq(), watermark));
+
+        return new TicketChangesView(tickets, deletedIds, next.encode(), hasMore);
+    }
+
+    protected record Change(long changeSeq, int id, boolean deleted) {
+
+        static Change of(TicketChangeRowView row) {
+            return new Change(row.getChangeSeq(), row.getId(), false);
+        }
+
+        static Change of(TicketTombstone tombstone) {
+            return new Change(tombstone.getChangeSeq(), tombstone.getTicketId(), true);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package fr.arthur.devoir_java.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.model.Category;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Export complet des tickets à mémoire constante : les lignes sont lues via un curseur JDBC
+ * et le contexte de persistance est vidé tous les {@link TicketDao#EXPORT_FETCH_SIZE} tickets.
+ */
+@Service
+public class TicketExportService {
+
+    protected static final String[] CSV_HEADER = {
+            "id", "title", "description", "resolved", "priority", "categories", "submittingUser", "resolvingUser"
+    };
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    public void export(TicketExportFormat format, OutputStream outputStream) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        transaction.executeWithoutResult(status -> {
+            try (Stream<Ticket> tickets = ticketDao.streamAllForExport()) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                if (format == TicketExportFormat.CSV) {
+                    writeCsvLine(writer, CSV_HEADER);
+                }
+
+                Iterator<Ticket> iterator = tickets.iterator();
+                int count = 0;
+                while (iterator.hasNext()) {
+                    Ticket ticket = iterator.next();
+                    if (format == TicketExportFormat.CSV) {
+                        writeCsv(writer, ticket);
+                    } else {
+                        writeJson(writer, ticket);
+                    }
+
+                    // On détache les tickets déjà écrits pour que le tas reste plat
+                    if (++count % TicketDao.EXPORT_FETCH_SIZE == 0) {
+                        writer.flush();
+                        entityManager.clear();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    protected void writeJson(Writer writer, Ticket ticket) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeNumberField("id", ticket.getId());
+        generator.writeStringField("title", ticket.getTitle());
+        generator.writeStringField("description", ticket.getDescription());
+        generator.writeBooleanField("resolved", ticket.isResolved());
+        generator.writeStringField("priority", ticket.getPriority().getName());
+        generator.writeArrayFieldStart("categories");
+        for (String category : categoryNames(ticket)) {
+            generator.writeString(category);
+        }
+        generator.writeEndArray();
+        generator.writeStringField("submittingUser", pseudo(ticket.getSubmittingUser()));
+        generator.writeStringField("resolvingUser", pseudo(ticket.getResolvingUser()));
+        generator.writeEndObject();
+        generator.close();
+
+        writer.write('\n');
+    }
+
+    protected void writeCsv(Writer writer, Ticket ticket) throws IOException {
+        writeCsvLine(writer, new String[]{
+                String.valueOf(ticket.getId()),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                String.valueOf(ticket.isResolved()),
+                ticket.getPriority().getName(),
+                String.join("|", categoryNames(ticket)),
+                pseudo(ticket.getSubmittingUser()),
+                pseudo(ticket.getResolvingUser())
+        });
+    }
+
+    protected void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    protected static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    protected static List<String> categoryNames(Ticket ticket) {
+        if (ticket.getCategories() == null) {
+            return List.of();
+        }
+        return ticket.getCategories().stream().map(Category::getName).collect(Collectors.toList());
+    }
+
+    protected static String pseudo(User user) {
+        return user == null ? null : user.getPseudo();
+    }
+}
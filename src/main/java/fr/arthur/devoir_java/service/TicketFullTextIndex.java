@@ -0,0 +1,187 @@
+package fr.arthur.devoir_java.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.view.TicketTextView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire sur le titre et la description des tickets, classé par BM25.
+ * Construit au démarrage puis tenu à jour par les {@link TicketChangeEvent}.
+ */
+@Service
+public class TicketFullTextIndex {
+
+    // Un terme du titre compte autant que trois occurrences dans la description
+    protected static final int TITLE_WEIGHT = 3;
+
+    protected static final double K1 = 1.2;
+
+    protected static final double B = 0.75;
+
+    protected static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    protected static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    protected static final Set<String> STOP_WORDS = Set.of(
+            "au", "aux", "ce", "ces", "dans", "de", "des", "du", "en", "est", "et", "la", "le", "les",
+            "ne", "par", "pas", "plus", "pour", "qui", "sur", "un", "une");
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sérialise les écritures : un événement reçu pendant la lecture de la base attend la fin de la reconstruction
+    // au lieu d'être effacé par elle, et les recherches continuent sur l'ancien index pendant la lecture
+    protected final ReentrantLock writers = new ReentrantLock();
+
+    // terme -> (id du ticket -> poids du terme dans le ticket) ; trié pour la recherche par préfixe
+    protected final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+
+    // id du ticket -> poids de chaque terme, pour retirer un ticket sans parcourir tout l'index
+    protected final Map<Integer, Map<String, Integer>> termsByTicket = new HashMap<>();
+
+    // id du ticket -> somme des poids de ses termes, pour la normalisation BM25
+    protected final Map<Integer, Integer> lengths = new HashMap<>();
+
+    protected long totalLength;
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writers.lock();
+        try {
+            List<TicketTextView> tickets = ticketDao.findAllTextViews();
+
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                termsByTicket.clear();
+                lengths.clear();
+                totalLength = 0;
+                tickets.forEach(ticket -> add(ticket.getId(), ticket.getTitle(), ticket.getDescription()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            writers.unlock();
+        }
+    }
+
+    @EventListener
+    public void onTicketChange(TicketChangeEvent event) {
+        TicketWithPseudoView after = event.getAfter();
+
+        writers.lock();
+        lock.writeLock().lock();
+        try {
+            remove(event.getTicketId());
+            if (after != null) {
+                add(after.getId(), after.getTitle(), after.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+            writers.unlock();
+        }
+    }
+
+    /**
+     * Retourne les ids des tickets correspondant à la requête, du plus pertinent au moins pertinent.
+     * Le dernier mot de la requête est traité comme un préfixe pour la saisie en cours.
+     */
+    public List<Integer> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = termsByTicket.size();
+            double averageLength = documentCount == 0 ? 0 : (double) totalLength / documentCount;
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Map<String, Map<Integer, Integer>> matches = i == terms.size() - 1
+                        ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                        : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+
+                for (Map<Integer, Integer> documents : matches.values()) {
+                    double idf = Math.log(1 + (documentCount - documents.size() + 0.5) / (documents.size() + 0.5));
+                    documents.forEach((ticketId, weight) -> {
+                        int length = lengths.get(ticketId);
+                        double norm = weight + K1 * (1 - B + B * length / averageLength);
+                        scores.merge(ticketId, idf * weight * (K1 + 1) / norm, Double::sum);
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Appelé sous le verrou d'écriture
+    protected void add(Integer ticketId, String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, 1, Integer::sum));
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(ticketId, weight));
+        int length = weights.values().stream().mapToInt(Integer::intValue).sum();
+        termsByTicket.put(ticketId, weights);
+        lengths.put(ticketId, length);
+        totalLength += length;
+    }
+
+    // Appelé sous le verrou d'écriture
+    protected void remove(Integer ticketId) {
+        Map<String, Integer> weights = termsByTicket.remove(ticketId);
+        if (weights == null) {
+            return;
+        }
+        totalLength -= lengths.remove(ticketId);
+
+        weights.keySet().forEach(term -> {
+            Map<Integer, Integer> documents = postings.get(term);
+            documents.remove(ticketId);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    // Minuscules sans accents, pour que "réseau" et "RESEAU" désignent le même terme
+    protected static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(term -> term.length() > 1 && !STOP_WORDS.contains(term))
+                .toList();
+    }
+}
@@ -0,0 +1,248 @@
+package fr.arthur.devoir_java.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.view.TicketIngestionView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Écriture différée des tickets créés en mode asynchrone (POST /api/ticket avec Prefer: respond-async).
+ * Le contrôleur valide le ticket, qui reçoit son id dans la séquence ticket_seq, le dépose dans une file
+ * bornée et répond 202 avec un reçu portant cet id ;
+ * un thread dédié vide la file par lots (au plus batch-size tickets, ou ce qui est arrivé en
+ * flush-interval) insérés chacun dans une seule transaction.
+ * File pleine : {@link #submit(Ticket)} refuse et le contrôleur répond 503.
+ * Les reçus sont gardés en mémoire (bornés) : un redémarrage perd les tickets encore en file.
+ */
+@Service
+public class TicketIngestionQueue {
+
+    protected static final Logger LOGGER = LoggerFactory.getLogger(TicketIngestionQueue.class);
+
+    protected final BlockingQueue<Pending> queue;
+
+    protected final Cache<UUID, TicketIngestionView> receipts;
+
+    protected final int batchSize;
+
+    protected final Duration flushInterval;
+
+    protected final Timer flushTime;
+
+    protected final Counter rejected;
+
+    protected final Counter failed;
+
+    protected volatile boolean running;
+
+    // Lecture : dépôt d'un ticket ; écriture : arrêt. Aucun ticket n'entre dans la file après le dernier vidage
+    protected final ReentrantReadWriteLock accepting = new ReentrantReadWriteLock();
+
+    protected Thread flusher;
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    @Autowired
+    protected TicketChangeLog ticketChangeLog;
+
+    @Autowired
+    protected ApplicationEventPublisher eventPublisher;
+
+    public TicketIngestionQueue(@Value("${tickets.ingestion.capacity:10000}") int capacity,
+                                @Value("${tickets.ingestion.batch-size:500}") int batchSize,
+                                @Value("${tickets.ingestion.flush-interval:200ms}") Duration flushInterval,
+                                @Value("${tickets.ingestion.receipt-ttl:1h}") Duration receiptTtl,
+                                MeterRegistry registry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.receipts = Caffeine.newBuilder()
+                .maximumSize(capacity * 10L)
+                .expireAfterWrite(receiptTtl)
+                .build();
+
+        flushTime = Timer.builder("tickets.ingestion.flush")
+                .description("Insertion d'un lot de tickets différés")
+                .register(registry);
+        rejected = Counter.builder("tickets.ingestion.rejected")
+                .description("Tickets refusés, file pleine")
+                .register(registry);
+        failed = Counter.builder("tickets.ingestion.failed")
+                .description("Tickets non insérés et lots interrompus par une erreur")
+                .register(registry);
+        Gauge.builder("tickets.ingestion.queue.size", queue, BlockingQueue::size)
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        // Thread plateforme : il enchaîne les lots et ne doit pas dépendre du mode des threads de requête
+        flusher = Thread.ofPlatform().name("ticket-ingestion").daemon().start(this::run);
+    }
+
+    /**
+     * Refuse les nouveaux tickets puis laisse le flusher terminer son lot : l'interrompre pendant
+     * l'insertion ferait échouer des tickets déjà acceptés. Ce qui reste en file est inséré ensuite.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        accepting.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            accepting.writeLock().unlock();
+        }
+
+        if (flusher != null) {
+            // Le flusher voit l'arrêt au plus tard après flush-interval d'attente sur la file vide
+            flusher.join();
+        }
+        int flushed;
+        do {
+            flushed = flush(0);
+        } while (flushed > 0);
+    }
+
+    /**
+     * Le ticket doit être validé et ses références résolues. Son id est pris dans la séquence avant
+     * la mise en file ; vide si la file est pleine ou en cours d'arrêt.
+     */
+    public Optional<TicketIngestionView> submit(Ticket ticket) {
+        accepting.readLock().lock();
+        try {
+            // Pas d'id consommé pour un ticket qui serait refusé de toute façon
+            if (!running || queue.remainingCapacity() == 0) {
+                rejected.increment();
+                return Optional.empty();
+            }
+
+            ticket.setId(ticketDao.allocateId());
+            TicketIngestionView pending = TicketIngestionView.pending(UUID.randomUUID(), ticket.getId());
+            receipts.put(pending.getReceipt(), pending);
+            if (!queue.offer(new Pending(pending.getReceipt(), ticket))) {
+                receipts.invalidate(pending.getReceipt());
+                rejected.increment();
+                return Optional.empty();
+            }
+            return Optional.of(pending);
+        } finally {
+            accepting.readLock().unlock();
+        }
+    }
+
+    public Optional<TicketIngestionView> status(UUID receipt) {
+        return Optional.ofNullable(receipts.getIfPresent(receipt));
+    }
+
+    protected void run() {
+        while (running) {
+            try {
+                flush(flushInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Les tickets refusés par la base sont déjà marqués FAILED : l'erreur vient d'ailleurs
+                // (publication des événements...), le thread continue avec les lots suivants
+                failed.increment();
+                LOGGER.error("Lot de tickets différés interrompu", e);
+            }
+        }
+    }
+
+    /**
+     * Attend le premier ticket au plus waitMillis, puis regroupe ce qui arrive jusqu'à batch-size
+     * ou la fin de l'intervalle, et insère le lot. Retourne le nombre de tickets traités.
+     */
+    public int flush(long waitMillis) throws InterruptedException {
+        Pending first = waitMillis > 0 ? queue.poll(waitMillis, TimeUnit.MILLISECONDS) : queue.poll();
+        if (first == null) {
+            return 0;
+        }
+
+        List<Pending> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+
+        flushTime.record(() -> persist(batch));
+        return batch.size();
+    }
+
+    protected void persist(List<Pending> batch) {
+        try {
+            ticketChangeLog.write(changeSeq -> {
+                batch.forEach(pending -> pending.ticket().setChangeSeq(changeSeq));
+                return ticketDao.saveAll(batch.stream().map(Pending::ticket).toList());
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Lot de {} tickets différés refusé, insertion ticket par ticket", batch.size(), e);
+            // Lot refusé : on isole le ticket fautif en réinsérant un par un
+            for (Pending pending : batch) {
+                try {
+                    // L'id attribué au dépôt est conservé ; sans version, le ticket est de nouveau inséré
+                    pending.ticket().setVersion(null);
+                    ticketChangeLog.write(changeSeq -> {
+                        pending.ticket().setChangeSeq(changeSeq);
+                        return ticketDao.save(pending.ticket());
+                    });
+                } catch (RuntimeException single) {
+                    failed.increment();
+                    LOGGER.warn("Ticket différé {} refusé", pending.ticket().getId(), single);
+                    receipts.put(pending.receipt(), TicketIngestionView.failed(pending.receipt(), pending.ticket().getId()));
+                    continue;
+                }
+                created(pending);
+            }
+            return;
+        }
+        // Hors du try : un échec de publication ne doit pas faire réinsérer des tickets déjà validés
+        batch.forEach(this::created);
+    }
+
+    protected void created(Pending pending) {
+        receipts.put(pending.receipt(), TicketIngestionView.created(pending.receipt(), pending.ticket().getId()));
+        eventPublisher.publishEvent(TicketChangeEvent.created(TicketWithPseudoView.of(pending.ticket())));
+    }
+
+    protected record Pending(UUID receipt, Ticket ticket) {
+    }
+}
@@ -0,0 +1,158 @@
+package fr.arthur.devoir_java.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.view.TicketCountView;
+import fr.arthur.devoir_java.view.TicketGroupCountView;
+import fr.arthur.devoir_java.view.TicketStatsView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs de tickets ouverts / résolus par priorité, catégorie et utilisateur soumetteur.
+ * Initialisés par trois GROUP BY au démarrage, puis mis à jour à chaque {@link TicketChangeEvent} :
+ * la lecture ne fait que sommer des {@link LongAdder}.
+ */
+@Service
+public class TicketStatistics {
+
+    // Remplacés d'un bloc par la reconstruction : une lecture ne voit jamais des compteurs remis à zéro
+    protected volatile Counters counters = new Counters();
+
+    // Lecture : application des événements, concurrente ; écriture : reconstruction, exclusive.
+    // Pas de synchronized : la reconstruction attend la base, ce qui épinglerait un thread virtuel
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    /**
+     * Reconstruit aussi après une mise à jour ensembliste, dont les tickets ne sont pas relus.
+     * Les événements reçus pendant les GROUP BY attendent la fin de la reconstruction puis s'appliquent
+     * aux nouveaux compteurs ; seule une écriture validée avant les lectures mais publiée après
+     * reste comptée deux fois, jusqu'à la reconstruction suivante.
+     */
+    @EventListener({ApplicationReadyEvent.class, TicketBulkChangeEvent.class})
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            Counters loaded = new Counters();
+
+            ticketDao.countGroupByPriority().forEach(row -> {
+                load(loaded.byPriority, row);
+                loaded.total.add(row.getResolved(), row.getTotal());
+            });
+            ticketDao.countGroupByCategory().forEach(row -> load(loaded.byCategory, row));
+            ticketDao.countGroupBySubmittingUser().forEach(row -> load(loaded.bySubmittingUser, row));
+
+            counters = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTicketChange(TicketChangeEvent event) {
+        lock.readLock().lock();
+        try {
+            Counters current = counters;
+            if (event.getBefore() != null) {
+                apply(current, event.getBefore(), -1);
+            }
+            if (event.getAfter() != null) {
+                apply(current, event.getAfter(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public TicketStatsView snapshot() {
+        Counters current = counters;
+        return new TicketStatsView(
+                current.total.toView(null),
+                toViews(current.byPriority),
+                toViews(current.byCategory),
+                toViews(current.bySubmittingUser));
+    }
+
+    protected void apply(Counters counters, TicketWithPseudoView ticket, long delta) {
+        boolean resolved = ticket.isResolved();
+        counters.total.add(resolved, delta);
+
+        if (ticket.getPriority() != null) {
+            counter(counters.byPriority, ticket.getPriority().getId(), ticket.getPriority().getName(), delta)
+                    .add(resolved, delta);
+        }
+        ticket.getCategories().forEach(category ->
+                counter(counters.byCategory, category.getId(), category.getName(), delta).add(resolved, delta));
+        if (ticket.getSubmittingUserId() != null) {
+            counter(counters.bySubmittingUser, ticket.getSubmittingUserId(), ticket.getSubmittingUserPseudo(), delta)
+                    .add(resolved, delta);
+        }
+    }
+
+    // Le libellé suit la dernière valeur écrite, pour refléter un renommage
+    protected static Counter counter(Map<Integer, Counter> counters, Integer id, String label, long delta) {
+        Counter counter = counters.computeIfAbsent(id, key -> new Counter(label));
+        if (delta > 0 && label != null) {
+            counter.label = label;
+        }
+        return counter;
+    }
+
+    protected static void load(Map<Integer, Counter> counters, TicketGroupCountView row) {
+        counters.computeIfAbsent(row.getId(), key -> new Counter(row.getLabel())).add(row.getResolved(), row.getTotal());
+    }
+
+    protected static List<TicketCountView> toViews(Map<Integer, Counter> counters) {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().toView(entry.getKey()))
+                .filter(view -> view.getOpen() != 0 || view.getResolved() != 0)
+                .sorted(Comparator.comparing(TicketCountView::getId))
+                .toList();
+    }
+
+    protected static class Counters {
+
+        protected final Counter total = new Counter(null);
+
+        protected final Map<Integer, Counter> byPriority = new ConcurrentHashMap<>();
+
+        protected final Map<Integer, Counter> byCategory = new ConcurrentHashMap<>();
+
+        protected final Map<Integer, Counter> bySubmittingUser = new ConcurrentHashMap<>();
+    }
+
+    protected static class Counter {
+
+        protected final LongAdder open = new LongAdder();
+
+        protected final LongAdder resolved = new LongAdder();
+
+        protected volatile String label;
+
+        protected Counter(String label) {
+            this.label = label;
+        }
+
+        protected void add(boolean isResolved, long delta) {
+            (isResolved ? resolved : open).add(delta);
+        }
+
+        protected TicketCountView toView(Integer id) {
+            return new TicketCountView(id, label, open.sum(), resolved.sum());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package fr.arthur.devoir_java.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Vue matérialisée en mémoire des tickets non résolus, servie sans authentification.
+ * Chargée au démarrage puis tenue à jour par les {@link TicketChangeEvent} : la consultation publique
+ * ne touche jamais la base. Les événements publiés hors ordre sont écartés grâce à la version des tickets.
+ */
+@Service
+public class UnresolvedTicketFeed {
+
+    // Un ticket sorti de la vue y reste connu quelques minutes, le temps que les événements en retard arrivent
+    protected static final Duration REMOVED_RETENTION = Duration.ofMinutes(10);
+
+    protected static final long REMOVED_MAX_SIZE = 100_000;
+
+    // Remplacée d'un bloc par une reconstruction : un lecteur ne voit jamais une vue vide ou à moitié chargée
+    protected volatile ConcurrentSkipListMap<Integer, TicketView> tickets = new ConcurrentSkipListMap<>();
+
+    // Version des tickets résolus ou supprimés, pour qu'une modification plus ancienne ne les fasse pas réapparaître
+    protected final Cache<Integer, Long> removed = Caffeine.newBuilder()
+            .expireAfterWrite(REMOVED_RETENTION)
+            .maximumSize(REMOVED_MAX_SIZE)
+            .build();
+
+    // Un événement appliqué entre la lecture de la base et le remplacement de la vue serait perdu
+    protected final ReentrantLock lock = new ReentrantLock();
+
+    // Incrémenté à chaque écriture pour invalider la liste précalculée
+    protected final AtomicLong version = new AtomicLong();
+
+    protected final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @Autowired
+    protected TicketDao ticketDao;
+
+    // Après une résolution en masse, la liste est relue plutôt que corrigée ticket par ticket
+    @EventListener({ApplicationReadyEvent.class, TicketBulkChangeEvent.class})
+    public void rebuild() {
+        lock.lock();
+        try {
+            List<TicketWithPseudoView> unresolved = ticketDao.findUnresolvedViews();
+            ticketDao.attachCategories(unresolved);
+
+            ConcurrentSkipListMap<Integer, TicketView> loaded = new ConcurrentSkipListMap<>();
+            unresolved.forEach(ticket -> loaded.put(ticket.getId(), TicketView.of(ticket)));
+            tickets = loaded;
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onTicketChange(TicketChangeEvent event) {
+        TicketWithPseudoView after = event.getAfter();
+
+        lock.lock();
+        try {
+            if (!isNewer(event)) {
+                return;
+            }
+
+            if (after != null && !after.isResolved()) {
+                tickets.put(after.getId(), TicketView.of(after));
+                removed.invalidate(after.getId());
+            } else {
+                tickets.remove(event.getTicketId());
+                // Une suppression est définitive : aucune version ultérieure ne peut la contredire
+                removed.put(event.getTicketId(), after != null && after.getVersion() != null ? after.getVersion() : Long.MAX_VALUE);
+            }
+            version.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TicketView> findAll() {
+        long currentVersion = version.get();
+        Snapshot current = snapshot.get();
+
+        if (current != null && current.version() == currentVersion) {
+            return current.tickets();
+        }
+
+        // La copie peut contenir des écritures plus récentes que currentVersion : elle sera
+        // simplement recalculée à la prochaine lecture
+        List<TicketView> copy = List.copyOf(tickets.values());
+        snapshot.compareAndSet(current, new Snapshot(currentVersion, copy));
+        return copy;
+    }
+
+    public Optional<TicketView> findById(int id) {
+        return Optional.ofNullable(tickets.get(id));
+    }
+
+    // Appelé sous le verrou ; sans version connue, l'événement est appliqué
+    protected boolean isNewer(TicketChangeEvent event) {
+        TicketWithPseudoView after = event.getAfter();
+        if (after == null || after.getVersion() == null) {
+            return true;
+        }
+
+        TicketView current = tickets.get(after.getId());
+        Long known = current != null ? current.getVersion() : removed.getIfPresent(after.getId());
+        return known == null || after.getVersion() > known;
+    }
+
+    protected record Snapshot(long version, List<TicketView> tickets) {
+    }
+}
@@ -0,0 +1,47 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * Position d'un client dans le journal des modifications de tickets, parcouru par clé (séquence, id).
+ * Une écriture ensembliste donne la même séquence à plusieurs tickets : l'id départage ceux d'une même séquence.
+ * Le jeton est la séquence seule quand le client est à jour, "séquence:id" au milieu d'une séquence.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeCursor {
+
+    protected long changeSeq;
+
+    protected int lastId;
+
+    // Avant toute écriture : inclut les tickets chargés au démarrage, de séquence 0
+    public static ChangeCursor start() {
+        return new ChangeCursor(0, 0);
+    }
+
+    public static ChangeCursor after(long changeSeq) {
+        return new ChangeCursor(changeSeq, Integer.MAX_VALUE);
+    }
+
+    public static Optional<ChangeCursor> decode(String token) {
+        try {
+            int separator = token.indexOf(':');
+            long changeSeq = Long.parseLong(separator < 0 ? token : token.substring(0, separator));
+            int lastId = separator < 0 ? Integer.MAX_VALUE : Integer.parseInt(token.substring(separator + 1));
+            if (changeSeq < 0 || lastId < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new ChangeCursor(changeSeq, lastId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        return lastId == Integer.MAX_VALUE ? String.valueOf(changeSeq) : changeSeq + ":" + lastId;
+    }
+}
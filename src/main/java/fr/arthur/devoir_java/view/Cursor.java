@@ -0,0 +1,57 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Position opaque dans une liste paginée par clé (keyset) sur l'id.
+ * Le jeton transmis au client encode le sens du tri et le dernier id retourné.
+ */
+@Getter
+@AllArgsConstructor
+public class Cursor {
+
+    protected static final String SORT_ASC = "id,asc";
+    protected static final String SORT_DESC = "id,desc";
+
+    protected boolean descending;
+
+    protected int lastId;
+
+    public static Optional<Cursor> start(String sort) {
+        if (SORT_ASC.equalsIgnoreCase(sort)) {
+            return Optional.of(new Cursor(false, 0));
+        }
+        if (SORT_DESC.equalsIgnoreCase(sort)) {
+            return Optional.of(new Cursor(true, Integer.MAX_VALUE));
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<Cursor> decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            int lastId = Integer.parseInt(raw.substring(separator + 1));
+            return start(raw.substring(0, separator)).map(cursor -> cursor.next(lastId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Cursor next(int lastId) {
+        return new Cursor(descending, lastId);
+    }
+
+    public String encode() {
+        String raw = (descending ? SORT_DESC : SORT_ASC) + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    protected List<T> items;
+
+    // null quand il n'y a plus de page suivante
+    protected String nextCursor;
+
+    /**
+     * Construit une page à partir d'un résultat de {@code limit + 1} lignes :
+     * la ligne en trop indique seulement qu'une page suivante existe.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Cursor cursor, ToIntFunction<T> idExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, limit);
+        int lastId = idExtractor.applyAsInt(items.get(limit - 1));
+
+        return new CursorPage<>(items, cursor.next(lastId).encode());
+    }
+}
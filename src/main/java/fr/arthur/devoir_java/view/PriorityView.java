@@ -1,4 +1,17 @@
 package fr.arthur.devoir_java.view;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
 public class PriorityView {
+
+    protected Integer id;
+
+    protected String name;
 }
@@ -0,0 +1,13 @@
+package fr.arthur.devoir_java.view;
+
+/**
+ * Projection d'une ligne de la table de jointure ticket_category.
+ */
+public interface TicketCategoryView {
+
+    Integer getTicketId();
+
+    Integer getCategoryId();
+
+    String getCategoryName();
+}
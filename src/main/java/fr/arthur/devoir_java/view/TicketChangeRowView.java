@@ -0,0 +1,11 @@
+package fr.arthur.devoir_java.view;
+
+/**
+ * Position d'un ticket dans le journal des modifications, lue avant de charger les tickets d'une page.
+ */
+public interface TicketChangeRowView {
+
+    Integer getId();
+
+    long getChangeSeq();
+}
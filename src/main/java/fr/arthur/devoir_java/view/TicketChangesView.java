@@ -0,0 +1,25 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Tickets créés, modifiés ou supprimés depuis la position du client dans le journal des modifications.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketChangesView {
+
+    // État courant des tickets créés ou modifiés
+    protected List<TicketWithPseudoView> tickets;
+
+    // Ids des tickets supprimés
+    protected List<Integer> deleted;
+
+    // À repasser dans since : la suite de la page, ou la position atteinte quand hasMore est faux
+    protected String next;
+
+    protected boolean hasMore;
+}
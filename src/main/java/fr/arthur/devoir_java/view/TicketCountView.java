@@ -0,0 +1,22 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketCountView {
+
+    protected Integer id;
+
+    // Nom de la priorité ou de la catégorie, pseudo de l'utilisateur
+    protected String label;
+
+    protected long open;
+
+    protected long resolved;
+}
@@ -0,0 +1,15 @@
+package fr.arthur.devoir_java.view;
+
+/**
+ * Projection d'une ligne de comptage GROUP BY, utilisée pour initialiser les statistiques.
+ */
+public interface TicketGroupCountView {
+
+    Integer getId();
+
+    String getLabel();
+
+    Boolean getResolved();
+
+    Long getTotal();
+}
@@ -0,0 +1,41 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * État d'un ticket reçu en écriture différée, consultable par son reçu.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketIngestionView {
+
+    public enum Status {
+        PENDING, CREATED, FAILED
+    }
+
+    protected UUID receipt;
+
+    protected Status status;
+
+    // Attribué dès le dépôt, mais le ticket n'existe qu'une fois l'état CREATED atteint
+    protected Integer ticketId;
+
+    public static TicketIngestionView pending(UUID receipt, Integer ticketId) {
+        return new TicketIngestionView(receipt, Status.PENDING, ticketId);
+    }
+
+    public static TicketIngestionView created(UUID receipt, Integer ticketId) {
+        return new TicketIngestionView(receipt, Status.CREATED, ticketId);
+    }
+
+    public static TicketIngestionView failed(UUID receipt, Integer ticketId) {
+        return new TicketIngestionView(receipt, Status.FAILED, ticketId);
+    }
+}
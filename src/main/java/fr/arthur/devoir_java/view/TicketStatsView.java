@@ -0,0 +1,23 @@
+package fr.arthur.devoir_java.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketStatsView {
+
+    protected TicketCountView total;
+
+    protected List<TicketCountView> byPriority;
+
+    protected List<TicketCountView> byCategory;
+
+    protected List<TicketCountView> bySubmittingUser;
+}
@@ -0,0 +1,13 @@
+package fr.arthur.devoir_java.view;
+
+/**
+ * Projection des seuls champs textuels d'un ticket, utilisée pour construire l'index plein texte.
+ */
+public interface TicketTextView {
+
+    Integer getId();
+
+    String getTitle();
+
+    String getDescription();
+}
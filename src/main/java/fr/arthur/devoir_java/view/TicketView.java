@@ -1,4 +1,72 @@
 package fr.arthur.devoir_java.view;
 
+import fr.arthur.devoir_java.model.Ticket;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modèle de lecture d'un ticket : uniquement des valeurs, sans graphe d'entités.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
 public class TicketView {
+
+    protected Integer id;
+
+    protected String title;
+
+    protected String description;
+
+    protected boolean resolved;
+
+    // À renvoyer lors d'une modification pour détecter une écriture concurrente
+    protected Long version;
+
+    protected PriorityView priority;
+
+    protected List<CategoryView> categories = new ArrayList<>();
+
+    public TicketView(Integer id, String title, String description, boolean resolved, Long version,
+                      Integer priorityId, String priorityName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.resolved = resolved;
+        this.version = version;
+        this.priority = new PriorityView(priorityId, priorityName);
+    }
+
+    protected void copyFrom(Ticket ticket) {
+        id = ticket.getId();
+        title = ticket.getTitle();
+        description = ticket.getDescription();
+        resolved = ticket.isResolved();
+        version = ticket.getVersion();
+        if (ticket.getPriority() != null) {
+            priority = new PriorityView(ticket.getPriority().getId(), ticket.getPriority().getName());
+        }
+        if (ticket.getCategories() != null) {
+            ticket.getCategories().forEach(category ->
+                    categories.add(new CategoryView(category.getId(), category.getName())));
+        }
+    }
+
+    public static TicketView of(Ticket ticket) {
+        TicketView view = new TicketView();
+        view.copyFrom(ticket);
+        return view;
+    }
+
+    // Copie réduite aux champs de TicketView, sans les informations des sous-classes
+    public static TicketView of(TicketView source) {
+        TicketView view = new TicketView(source.id, source.title, source.description, source.resolved, source.version, null, null);
+        view.priority = source.priority;
+        view.categories = List.copyOf(source.categories);
+        return view;
+    }
 }
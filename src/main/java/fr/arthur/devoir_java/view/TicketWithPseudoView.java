@@ -1,4 +1,48 @@
 package fr.arthur.devoir_java.view;
 
-public class TicketWithPseudoView {
+import fr.arthur.devoir_java.model.Ticket;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Ticket accompagné du pseudo des utilisateurs qui l'ont soumis et résolu.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketWithPseudoView extends TicketView {
+
+    protected Integer submittingUserId;
+
+    protected String submittingUserPseudo;
+
+    protected Integer resolvingUserId;
+
+    protected String resolvingUserPseudo;
+
+    public TicketWithPseudoView(Integer id, String title, String description, boolean resolved, Long version,
+                                Integer priorityId, String priorityName,
+                                Integer submittingUserId, String submittingUserPseudo,
+                                Integer resolvingUserId, String resolvingUserPseudo) {
+        super(id, title, description, resolved, version, priorityId, priorityName);
+        this.submittingUserId = submittingUserId;
+        this.submittingUserPseudo = submittingUserPseudo;
+        this.resolvingUserId = resolvingUserId;
+        this.resolvingUserPseudo = resolvingUserPseudo;
+    }
+
+    public static TicketWithPseudoView of(Ticket ticket) {
+        TicketWithPseudoView view = new TicketWithPseudoView();
+        view.copyFrom(ticket);
+        if (ticket.getSubmittingUser() != null) {
+            view.submittingUserId = ticket.getSubmittingUser().getId();
+            view.submittingUserPseudo = ticket.getSubmittingUser().getPseudo();
+        }
+        if (ticket.getResolvingUser() != null) {
+            view.resolvingUserId = ticket.getResolvingUser().getId();
+            view.resolvingUserPseudo = ticket.getResolvingUser().getPseudo();
+        }
+        return view;
+    }
 }
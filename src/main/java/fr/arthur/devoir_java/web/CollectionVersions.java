@@ -0,0 +1,62 @@
+package fr.arthur.devoir_java.web;
+
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteur de version par collection, incrémenté à chaque écriture.
+ * Les tickets suivent les événements de ticket ; priorités, catégories et utilisateurs
+ * sont signalés par leurs contrôleurs.
+ */
+@Component
+public class CollectionVersions {
+
+    // Distingue deux démarrages : les compteurs repartent de zéro mais pas les caches des clients
+    protected final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    protected final Map<VersionedCollection, AtomicLong> versions = new EnumMap<>(VersionedCollection.class);
+
+    public CollectionVersions() {
+        for (VersionedCollection collection : VersionedCollection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    public void bump(VersionedCollection... collections) {
+        for (VersionedCollection collection : collections) {
+            versions.get(collection).incrementAndGet();
+        }
+    }
+
+    public String etag(VersionedCollection collection) {
+        return "\"" + collection.name().toLowerCase() + "-" + epoch + "-" + versions.get(collection).get() + "\"";
+    }
+
+    /**
+     * Versions des collections dont une entité embarque des éléments (nom de priorité, pseudo...),
+     * à lire avant l'entité : au pire le client garde un ETag périmé et recharge une fois de trop.
+     */
+    public String snapshot(VersionedCollection... references) {
+        StringBuilder snapshot = new StringBuilder(epoch);
+        for (VersionedCollection reference : references) {
+            snapshot.append('-').append(versions.get(reference).get());
+        }
+        return snapshot.toString();
+    }
+
+    // ETag d'une seule entité : une écriture sur une autre entité de la même collection ne le change pas
+    public String etag(String entity, int id, Long version, String snapshot) {
+        return "\"" + entity + "-" + id + "-v" + version + "-" + snapshot + "\"";
+    }
+
+    @EventListener({TicketChangeEvent.class, TicketBulkChangeEvent.class})
+    public void onTicketChange() {
+        bump(VersionedCollection.TICKETS);
+    }
+}
@@ -0,0 +1,18 @@
+package fr.arthur.devoir_java.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marque un GET dont la réponse ne dépend que de la collection indiquée :
+ * {@link ETagInterceptor} répond 304 sans appeler le contrôleur quand le client a déjà cette version,
+ * {@link ETagResponseAdvice} pose l'ETag sur les réponses 2xx.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    VersionedCollection value();
+}
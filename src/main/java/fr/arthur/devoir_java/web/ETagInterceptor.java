@@ -0,0 +1,64 @@
+package fr.arthur.devoir_java.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Enumeration;
+
+/**
+ * Répond 304 Not Modified aux GET {@link ConditionalGet} dont l'If-None-Match correspond à la version
+ * courante de la collection, avant tout accès à la base ou sérialisation. Sinon l'ETag est seulement
+ * retenu sur la requête : {@link ETagResponseAdvice} le pose une fois le statut de la réponse connu.
+ */
+@Component
+public class ETagInterceptor implements HandlerInterceptor {
+
+    public static final String ETAG_ATTRIBUTE = ETagInterceptor.class.getName() + ".etag";
+
+    @Autowired
+    protected CollectionVersions collectionVersions;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        // La version est lue avant les données : au pire le client garde un ETag périmé et recharge une fois de trop
+        String etag = collectionVersions.etag(conditionalGet.value());
+
+        if (isNotModified(request, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, etag);
+            return false;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    // If-None-Match : « * » ou liste d'ETags, comparés en ignorant le préfixe faible W/
+    protected boolean isNotModified(HttpServletRequest request, String etag) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                candidate = candidate.trim();
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
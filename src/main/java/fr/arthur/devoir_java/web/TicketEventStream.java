@@ -0,0 +1,265 @@
+package fr.arthur.devoir_java.web;
+
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flux Server-Sent Events des écritures de tickets (GET /api/ticket/stream), pour que les consoles
+ * n'aient plus à relire la liste périodiquement.
+ * Chaque abonné a sa propre file bornée, vidée par un thread virtuel : un client lent ne ralentit
+ * ni les écritures ni les autres abonnés. File pleine : on jette les plus anciens événements puis on
+ * envoie un événement reset (le client recharge la liste), ou on coupe la connexion et le client
+ * reprend depuis son Last-Event-ID.
+ * Les derniers événements sont gardés pour la reprise ; un identifiant trop ancien ou d'un autre
+ * démarrage donne aussi un reset.
+ */
+@Component
+public class TicketEventStream {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, DISCONNECT
+    }
+
+    protected static final String RESET = "reset";
+
+    // Même principe que CollectionVersions : un identifiant d'un démarrage précédent n'est pas rejouable
+    protected final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    protected final ReentrantLock publishLock = new ReentrantLock();
+
+    // Derniers événements, du plus ancien au plus récent ; protégé par publishLock
+    protected final Deque<StreamEvent> history = new ArrayDeque<>();
+
+    protected final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    protected long sequence;
+
+    protected final int historySize;
+
+    protected final int bufferSize;
+
+    protected final int maxSubscribers;
+
+    protected final OverflowPolicy overflowPolicy;
+
+    protected final Duration heartbeat;
+
+    protected final Duration timeout;
+
+    protected final Counter dropped;
+
+    protected final Counter disconnected;
+
+    public TicketEventStream(@Value("${tickets.stream.history-size:1000}") int historySize,
+                             @Value("${tickets.stream.client-buffer:256}") int bufferSize,
+                             @Value("${tickets.stream.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${tickets.stream.overflow:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                             @Value("${tickets.stream.heartbeat:15s}") Duration heartbeat,
+                             @Value("${tickets.stream.timeout:30m}") Duration timeout,
+                             MeterRegistry registry) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.overflowPolicy = overflowPolicy;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+
+        dropped = Counter.builder("tickets.stream.dropped")
+                .description("Événements jetés, file d'un abonné pleine")
+                .register(registry);
+        disconnected = Counter.builder("tickets.stream.disconnected")
+                .description("Abonnés coupés, file pleine")
+                .register(registry);
+        Gauge.builder("tickets.stream.subscribers", subscribers, Set::size)
+                .register(registry);
+    }
+
+    /**
+     * Ouvre un abonnement ; vide si le nombre maximal d'abonnés est atteint.
+     * Avec un Last-Event-ID encore en mémoire, les événements manqués sont rejoués avant le direct.
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+
+        publishLock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.sender = Thread.ofVirtual().name("ticket-stream").start(subscriber::run);
+        return Optional.of(emitter);
+    }
+
+    @EventListener
+    public void onTicketChange(TicketChangeEvent event) {
+        Object data = event.getAfter() != null ? event.getAfter() : Map.of("id", event.getTicketId());
+        publish(event.getType().name().toLowerCase(), data);
+    }
+
+    // Une écriture ensembliste ne détaille pas les tickets touchés : les clients rechargent
+    @EventListener
+    public void onTicketBulkChange(TicketBulkChangeEvent event) {
+        publish(RESET, Map.of("count", event.getCount()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    protected void publish(String name, Object data) {
+        publishLock.lock();
+        try {
+            long next = ++sequence;
+            StreamEvent event = new StreamEvent(epoch + "-" + next, next, name, data);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    // Appelé sous publishLock, avant l'inscription de l'abonné : aucun événement n'est perdu ni doublé
+    protected void replay(Subscriber subscriber, String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        long lastSequence = parseSequence(lastEventId.substring(separator + 1));
+        boolean sameEpoch = separator > 0 && lastEventId.substring(0, separator).equals(epoch);
+        long oldest = history.isEmpty() ? sequence + 1 : history.getFirst().sequence();
+        long missed = sequence - lastSequence;
+
+        if (!sameEpoch || lastSequence < 0 || lastSequence > sequence || lastSequence < oldest - 1 || missed > bufferSize) {
+            // Identifiant courant : après rechargement, le client reprend à partir de maintenant
+            subscriber.offer(new StreamEvent(epoch + "-" + sequence, sequence, RESET, Map.of()));
+            return;
+        }
+        history.stream()
+                .filter(event -> event.sequence() > lastSequence)
+                .forEach(subscriber::offer);
+    }
+
+    protected static long parseSequence(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    protected record StreamEvent(String id, long sequence, String name, Object data) {
+    }
+
+    protected class Subscriber {
+
+        protected final SseEmitter emitter;
+
+        protected final BlockingQueue<StreamEvent> buffer;
+
+        // Des événements ont été jetés : un reset part avant le prochain événement
+        protected final AtomicBoolean overflowed = new AtomicBoolean();
+
+        protected volatile boolean open = true;
+
+        protected Thread sender;
+
+        protected Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Appelé sous publishLock : ne bloque jamais. Pas d'emitter.complete() ici : il attend le moniteur
+        // de l'émetteur, tenu par le thread d'envoi tant qu'une écriture vers un client lent est bloquée
+        protected void offer(StreamEvent event) {
+            if (buffer.offer(event)) {
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                disconnected.increment();
+                close();
+                return;
+            }
+            buffer.poll();
+            buffer.offer(event);
+            overflowed.set(true);
+            dropped.increment();
+        }
+
+        protected void run() {
+            try {
+                while (open) {
+                    StreamEvent event = buffer.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                        continue;
+                    }
+                    if (overflowed.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().name(RESET).data(Map.of(), MediaType.APPLICATION_JSON));
+                    }
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON);
+                    if (event.id() != null) {
+                        builder.id(event.id());
+                    }
+                    emitter.send(builder);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Client parti ou flux déjà terminé : le conteneur se charge de libérer la requête
+            } finally {
+                close();
+                // Hors publishLock, une fois l'écriture en cours terminée ; sans effet si le flux l'est déjà
+                emitter.complete();
+            }
+        }
+
+        protected void close() {
+            open = false;
+            subscribers.remove(this);
+            if (sender != null && sender != Thread.currentThread()) {
+                sender.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package fr.arthur.devoir_java.web;
+
+/**
+ * Collections dont la version sert d'ETag aux GET qui les lisent.
+ */
+public enum VersionedCollection {
+    TICKETS, PRIORITIES, CATEGORIES, USERS
+}
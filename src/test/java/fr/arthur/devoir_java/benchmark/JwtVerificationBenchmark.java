@@ -0,0 +1,84 @@
+package fr.arthur.devoir_java.benchmark;
+
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.security.AppUserDetails;
+import fr.arthur.devoir_java.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de vérification d'un jeton par requête :
+ * - legacyParse : ancien chemin, clé re-dérivée du secret et signature re-vérifiée à chaque appel ;
+ * - precomputedKey : clé calculée une fois, signature toujours vérifiée ;
+ * - cachedClaims : JwtUtils.extractClaims, jeton déjà vu servi depuis le cache.
+ *
+ * Lancement : mvn test-compile puis
+ * java -cp target/test-classes:target/classes:$(dépendances de test) fr.arthur.devoir_java.benchmark.JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "secretDeBenchmarkSuffisammentLongPourHS512_0123456789";
+
+    private JwtUtils jwtUtils;
+
+    private Key signingKey;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", Duration.ofHours(1));
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheTtl", Duration.ofMinutes(10));
+        jwtUtils.init();
+        signingKey = (Key) ReflectionTestUtils.getField(jwtUtils, "signingKey");
+
+        User user = new User();
+        user.setId(1);
+        user.setPseudo("admin");
+        user.setAdmin(true);
+        token = jwtUtils.generateToken(new AppUserDetails(user));
+    }
+
+    @Benchmark
+    public Claims legacyParse() {
+        return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims precomputedKey() {
+        return Jwts.parser()
+                .setSigningKey(signingKey)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtUtils.extractClaims(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,31 @@
+package fr.arthur.devoir_java.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class VirtualThreadPinning {
+
+    /**
+     * Exécute la tâche sur un thread virtuel et retourne les événements JFR jdk.VirtualThreadPinned
+     * levés pendant son exécution : un blocage (I/O, attente) sous synchronized ou sous le verrou
+     * d'un ConcurrentHashMap.compute en produit un.
+     */
+    public static List<RecordedEvent> pinnedEvents(Runnable task) throws InterruptedException {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10)).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", events::add);
+            stream.startAsync();
+
+            Thread.ofVirtual().start(task).join();
+
+            // stop() vide les tampons et traite les événements restants avant de rendre la main
+            stream.stop();
+        }
+        return events;
+    }
+}
@@ -1,22 +1,35 @@
 package fr.arthur.devoir_java.integration.repository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.arthur.devoir_java.config.TestDataBuilder;
 import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.dao.TicketPatch;
+import fr.arthur.devoir_java.dao.TicketSearchCriteria;
+import fr.arthur.devoir_java.dao.TicketTombstoneDao;
 import fr.arthur.devoir_java.model.Category;
 import fr.arthur.devoir_java.model.Priority;
 import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.TicketTombstone;
 import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.view.CategoryView;
+import fr.arthur.devoir_java.view.Cursor;
+import fr.arthur.devoir_java.view.TicketChangeRowView;
+import fr.arthur.devoir_java.view.TicketGroupCountView;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,6 +42,9 @@ class TicketDaoTest {
     @Autowired
     private TicketDao ticketDao;
 
+    @Autowired
+    private TicketTombstoneDao ticketTombstoneDao;
+
     @Autowired
     private TestEntityManager entityManager;
 
@@ -114,4 +130,391 @@ class TicketDaoTest {
         assertThat(updatedTicket.getResolvingUser()).isNotNull();
         assertThat(updatedTicket.getResolvingUser().getPseudo()).startsWith("testuser_");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Doit paginer les vues de tickets par clé dans les deux sens")
+    void findViewsKeyset_ShouldReturnPagesAfterCursor() {
+        // Given
+        Ticket first = entityManager.persistAndFlush(TestDataBuilder.createTicket("Page 1", testPriority, testUser));
+        Ticket second = entityManager.persistAndFlush(TestDataBuilder.createTicket("Page 2", testPriority, testUser));
+        Ticket third = entityManager.persistAndFlush(TestDataBuilder.createTicket("Page 3", testPriority, testUser));
+
+        // When
+        List<TicketWithPseudoView> ascending = ticketDao.findViewsAfter(first.getId(), Limit.of(10));
+        List<TicketWithPseudoView> descending = ticketDao.findViewsBefore(third.getId(), Limit.of(1));
+
+        // Then
+        assertThat(ascending).extracting(TicketView::getId).containsExactly(second.getId(), third.getId());
+        assertThat(descending).extracting(TicketView::getId).containsExactly(second.getId());
+    }
+
+    @Test
+    @DisplayName("Doit projeter un ticket avec le pseudo des utilisateurs et ses catégories")
+    void findViewById_ShouldProjectPseudoAndCategories() {
+        // Given
+        Ticket ticket = TestDataBuilder.createTicket("Projection", testPriority, testUser);
+        ticket.setCategories(List.of(testCategory));
+        Ticket savedTicket = entityManager.persistAndFlush(ticket);
+        entityManager.clear();
+
+        // When
+        Optional<TicketWithPseudoView> found = ticketDao.findViewById(savedTicket.getId());
+        found.ifPresent(view -> ticketDao.attachCategories(List.of(view)));
+
+        // Then
+        assertThat(found).isPresent();
+        TicketWithPseudoView view = found.get();
+        assertThat(view.getTitle()).isEqualTo("Projection");
+        assertThat(view.getPriority().getName()).startsWith("Haute_");
+        assertThat(view.getSubmittingUserPseudo()).startsWith("testuser_");
+        assertThat(view.getResolvingUserPseudo()).isNull();
+        assertThat(view.getCategories()).extracting(CategoryView::getName).containsExactly(testCategory.getName());
+    }
+
+    @Test
+    @DisplayName("Doit diffuser les tickets dans l'ordre des ids pour l'export")
+    void streamAllForExport_ShouldStreamTicketsOrderedById() {
+        // Given
+        Ticket first = entityManager.persistAndFlush(TestDataBuilder.createTicket("Export 1", testPriority, testUser));
+        Ticket second = entityManager.persistAndFlush(TestDataBuilder.createTicket("Export 2", testPriority, testUser));
+        entityManager.clear();
+
+        // When
+        List<Integer> ids;
+        try (Stream<Ticket> tickets = ticketDao.streamAllForExport()) {
+            ids = tickets.map(Ticket::getId).toList();
+        }
+
+        // Then
+        assertThat(ids).containsSubsequence(first.getId(), second.getId());
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    @DisplayName("Doit filtrer les tickets par statut et par catégories (au moins une / toutes)")
+    void search_ShouldFilterByResolvedAndCategories() {
+        // Given
+        Category otherCategory = entityManager.persistAndFlush(
+                TestDataBuilder.createCategory("Logiciel_" + System.nanoTime()));
+
+        Ticket both = TestDataBuilder.createTicket("Deux catégories", testPriority, testUser);
+        both.setCategories(List.of(testCategory, otherCategory));
+        Ticket single = TestDataBuilder.createTicket("Une catégorie", testPriority, testUser);
+        single.setCategories(List.of(testCategory));
+        Ticket resolved = TestDataBuilder.createTicket("Résolu", testPriority, testUser);
+        resolved.setCategories(List.of(testCategory));
+        resolved.setResolved(true);
+        entityManager.persist(both);
+        entityManager.persist(single);
+        entityManager.persistAndFlush(resolved);
+
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setResolved(false);
+        criteria.setPriorityId(testPriority.getId());
+        criteria.setCategoryIds(List.of(testCategory.getId(), otherCategory.getId()));
+
+        // When
+        List<TicketWithPseudoView> anyCategory = ticketDao.search(criteria, Cursor.start("id,asc").get(), 10);
+        criteria.setCategoryMatch(TicketSearchCriteria.CategoryMatch.ALL);
+        List<TicketWithPseudoView> allCategories = ticketDao.search(criteria, Cursor.start("id,asc").get(), 10);
+
+        // Then
+        assertThat(anyCategory).extracting(TicketView::getId).containsExactly(both.getId(), single.getId());
+        assertThat(allCategories).extracting(TicketView::getId).containsExactly(both.getId());
+    }
+
+    @Test
+    @DisplayName("Doit compter les tickets par priorité et par statut")
+    void countGroupByPriority_ShouldCountOpenAndResolvedTickets() {
+        // Given
+        Ticket resolved = TestDataBuilder.createTicket("Compté résolu", testPriority, testUser);
+        resolved.setResolved(true);
+        entityManager.persist(TestDataBuilder.createTicket("Compté ouvert", testPriority, testUser));
+        entityManager.persistAndFlush(resolved);
+
+        // When
+        List<TicketGroupCountView> counts = ticketDao.countGroupByPriority().stream()
+                .filter(row -> row.getId().equals(testPriority.getId()))
+                .toList();
+
+        // Then
+        assertThat(counts).hasSize(2);
+        assertThat(counts).allMatch(row -> row.getTotal() == 1 && row.getLabel().equals(testPriority.getName()));
+    }
+
+    @Test
+    @DisplayName("Doit attribuer les ids depuis la séquence lors d'une insertion en masse")
+    void saveAll_ShouldAssignSequenceIds() {
+        // Given
+        List<Ticket> tickets = List.of(
+                TestDataBuilder.createTicket("Lot 1", testPriority, testUser),
+                TestDataBuilder.createTicket("Lot 2", testPriority, testUser));
+
+        // When
+        ticketDao.saveAll(tickets);
+        ticketDao.flush();
+
+        // Then
+        assertThat(tickets).allMatch(ticket -> ticket.getId() != null && ticket.getId() >= 1000);
+        assertThat(tickets.get(1).getId()).isEqualTo(tickets.get(0).getId() + 1);
+    }
+
+    @Test
+    @DisplayName("Doit résoudre un ticket une seule fois")
+    void resolveById_ShouldOnlyResolveUnresolvedTicket() {
+        // Given
+        Ticket ticket = entityManager.persistAndFlush(TestDataBuilder.createTicket("À résoudre", testPriority, testUser));
+
+        // When
+        int first = ticketDao.resolveById(ticket.getId(), null, testUser, 1);
+        int second = ticketDao.resolveById(ticket.getId(), null, testUser, 1);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        Ticket reloaded = ticketDao.findById(ticket.getId()).orElseThrow();
+        assertThat(reloaded.isResolved()).isTrue();
+        assertThat(reloaded.getResolvingUser().getId()).isEqualTo(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Doit résoudre uniquement les tickets indiqués encore ouverts")
+    void resolveByIdIn_ShouldOnlyResolveListedUnresolvedTickets() {
+        // Given
+        Ticket open = entityManager.persist(TestDataBuilder.createTicket("Ouvert", testPriority, testUser));
+        Ticket alreadyResolved = TestDataBuilder.createTicket("Déjà résolu", testPriority, testUser);
+        alreadyResolved.setResolved(true);
+        entityManager.persist(alreadyResolved);
+        Ticket notListed = entityManager.persistAndFlush(TestDataBuilder.createTicket("Non listé", testPriority, testUser));
+        long openVersion = open.getVersion();
+
+        // When
+        int resolved = ticketDao.resolveByIdIn(List.of(open.getId(), alreadyResolved.getId(), -1), testUser, 5);
+
+        // Then
+        assertThat(resolved).isEqualTo(1);
+        Ticket reloaded = ticketDao.findById(open.getId()).orElseThrow();
+        assertThat(reloaded.isResolved()).isTrue();
+        assertThat(reloaded.getChangeSeq()).isEqualTo(5);
+        assertThat(reloaded.getVersion()).isEqualTo(openVersion + 1);
+        assertThat(ticketDao.findById(alreadyResolved.getId()).orElseThrow().getChangeSeq()).isZero();
+        assertThat(ticketDao.findById(notListed.getId()).orElseThrow().isResolved()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Doit résoudre en une instruction les tickets correspondant au filtre")
+    void resolveMatching_ShouldResolveFilteredTickets() {
+        // Given
+        Category otherCategory = entityManager.persistAndFlush(
+                TestDataBuilder.createCategory("Filtre_" + System.nanoTime()));
+
+        Ticket matching = TestDataBuilder.createTicket("Filtré", testPriority, testUser);
+        matching.setCategories(List.of(otherCategory));
+        Ticket other = TestDataBuilder.createTicket("Non filtré", testPriority, testUser);
+        other.setCategories(List.of(testCategory));
+        entityManager.persist(matching);
+        entityManager.persistAndFlush(other);
+
+        TicketSearchCriteria criteria = new TicketSearchCriteria();
+        criteria.setPriorityId(testPriority.getId());
+        criteria.setCategoryIds(List.of(otherCategory.getId()));
+
+        // When
+        int resolved = ticketDao.resolveMatching(criteria, testUser, 1);
+
+        // Then
+        assertThat(resolved).isEqualTo(1);
+        assertThat(ticketDao.findById(matching.getId()).orElseThrow().isResolved()).isTrue();
+        assertThat(ticketDao.findById(other.getId()).orElseThrow().isResolved()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Doit appliquer un patch en conservant les champs absents")
+    void patch_ShouldOnlyUpdatePresentFields() throws Exception {
+        // Given
+        Ticket ticket = TestDataBuilder.createTicket("Avant patch", testPriority, testUser);
+        ticket.setDescription("Description conservée");
+        ticket.setCategories(List.of(testCategory));
+        entityManager.persistAndFlush(ticket);
+
+        TicketPatch titleOnly = TicketPatch.fromMergePatch(
+                new ObjectMapper().readTree("{\"title\": \"Après patch\"}")).orElseThrow();
+        TicketPatch clearCategories = TicketPatch.fromMergePatch(
+                new ObjectMapper().readTree("{\"categories\": null}")).orElseThrow();
+
+        // When
+        boolean patched = ticketDao.patch(ticket.getId(), titleOnly, 1);
+        ticketDao.patch(ticket.getId(), clearCategories, 2);
+
+        // Then
+        assertThat(patched).isTrue();
+        Ticket reloaded = ticketDao.findById(ticket.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Après patch");
+        assertThat(reloaded.getDescription()).isEqualTo("Description conservée");
+        assertThat(reloaded.getCategories()).isEmpty();
+        assertThat(ticketDao.patch(-1, titleOnly, 3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Doit refuser les écritures JPQL basées sur une version périmée")
+    void resolveAndPatch_ShouldRejectStaleVersion() throws Exception {
+        // Given
+        Ticket ticket = entityManager.persistAndFlush(TestDataBuilder.createTicket("Versionné", testPriority, testUser));
+        long readVersion = ticket.getVersion();
+
+        TicketPatch patch = TicketPatch.fromMergePatch(new ObjectMapper()
+                .readTree("{\"title\": \"Versionné v2\", \"version\": " + readVersion + "}")).orElseThrow();
+
+        // When
+        boolean firstPatch = ticketDao.patch(ticket.getId(), patch, 1);
+        boolean stalePatch = ticketDao.patch(ticket.getId(), patch, 2);
+        int staleResolve = ticketDao.resolveById(ticket.getId(), readVersion, testUser, 3);
+        int freshResolve = ticketDao.resolveById(ticket.getId(), readVersion + 1, testUser, 4);
+
+        // Then
+        assertThat(firstPatch).isTrue();
+        assertThat(stalePatch).isFalse();
+        assertThat(staleResolve).isZero();
+        assertThat(freshResolve).isEqualTo(1);
+        assertThat(ticketDao.findById(ticket.getId()).orElseThrow().getVersion()).isEqualTo(readVersion + 2);
+    }
+
+    @Test
+    @DisplayName("Doit parcourir le journal par (séquence, id) sans dépasser le filigrane")
+    void findChangesAfter_ShouldFollowKeysetAndWatermark() {
+        // Given
+        Ticket first = TestDataBuilder.createTicket("Séquence 5 a", testPriority, testUser);
+        first.setChangeSeq(5);
+        Ticket second = TestDataBuilder.createTicket("Séquence 5 b", testPriority, testUser);
+        second.setChangeSeq(5);
+        Ticket third = TestDataBuilder.createTicket("Séquence 7", testPriority, testUser);
+        third.setChangeSeq(7);
+        Ticket inFlight = TestDataBuilder.createTicket("Séquence 9", testPriority, testUser);
+        inFlight.setChangeSeq(9);
+        ticketDao.saveAll(List.of(first, second, third, inFlight));
+        entityManager.flush();
+
+        // When
+        List<Integer> fromStart = ticketDao.findChangesAfter(4, Integer.MAX_VALUE, 8, Limit.of(10))
+                .stream().map(TicketChangeRowView::getId).toList();
+        List<Integer> midSequence = ticketDao.findChangesAfter(5, first.getId(), 8, Limit.of(10))
+                .stream().map(TicketChangeRowView::getId).toList();
+
+        // Then
+        assertThat(fromStart).containsExactly(first.getId(), second.getId(), third.getId());
+        assertThat(midSequence).containsExactly(second.getId(), third.getId());
+        assertThat(ticketDao.findMaxChangeSeq()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Doit laisser une pierre tombale à la suppression d'un ticket")
+    void deleteWithTombstone_ShouldRecordDeletion() {
+        // Given
+        Ticket ticket = entityManager.persistAndFlush(TestDataBuilder.createTicket("À supprimer", testPriority, testUser));
+
+        // When
+        boolean deleted = ticketDao.deleteWithTombstone(ticket.getId(), 12);
+        boolean missing = ticketDao.deleteWithTombstone(-1, 13);
+        entityManager.flush();
+
+        // Then
+        assertThat(deleted).isTrue();
+        assertThat(missing).isFalse();
+        assertThat(ticketDao.existsById(ticket.getId())).isFalse();
+        assertThat(ticketTombstoneDao.findChangesAfter(11, Integer.MAX_VALUE, 12, Limit.of(10)))
+                .singleElement()
+                .satisfies(tombstone -> {
+                    assertThat(tombstone.getTicketId()).isEqualTo(ticket.getId());
+                    assertThat(tombstone.getChangeSeq()).isEqualTo(12);
+                });
+    }
+
+    @Test
+    @DisplayName("Doit supprimer un utilisateur avec ses tickets en laissant une pierre tombale par ticket")
+    void deleteUserWithTombstones_ShouldRecordEachTicketDeletion() {
+        // Given
+        User other = entityManager.persistAndFlush(TestDataBuilder.createUser("other_" + System.nanoTime(), true));
+        Ticket submitted = TestDataBuilder.createTicket("Soumis", testPriority, testUser);
+        submitted.setCategories(List.of(testCategory));
+        Ticket resolved = TestDataBuilder.createTicket("Résolu par l'utilisateur", testPriority, other);
+        resolved.setResolved(true);
+        resolved.setResolvingUser(testUser);
+        Ticket unrelated = TestDataBuilder.createTicket("Sans rapport", testPriority, other);
+        ticketDao.saveAll(List.of(submitted, resolved, unrelated));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TicketWithPseudoView> deleted = ticketDao.deleteUserWithTombstones(testUser.getId(), 20);
+        List<TicketWithPseudoView> missing = ticketDao.deleteUserWithTombstones(-1, 21);
+        entityManager.flush();
+
+        // Then
+        assertThat(deleted).extracting(TicketView::getId).containsExactly(submitted.getId(), resolved.getId());
+        assertThat(deleted.get(0).getCategories()).extracting(CategoryView::getId).containsExactly(testCategory.getId());
+        assertThat(missing).isEmpty();
+        assertThat(entityManager.find(User.class, testUser.getId())).isNull();
+        assertThat(ticketDao.existsById(unrelated.getId())).isTrue();
+        assertThat(ticketTombstoneDao.findChangesAfter(19, Integer.MAX_VALUE, 20, Limit.of(10)))
+                .extracting(TicketTombstone::getTicketId)
+                .containsExactlyInAnyOrder(submitted.getId(), resolved.getId());
+    }
+
+    @Test
+    @DisplayName("Doit reporter un renommage sur la séquence des tickets de l'utilisateur sans changer leur version")
+    void touchByUser_ShouldMoveChangeSeqOnly() {
+        // Given
+        User other = entityManager.persistAndFlush(TestDataBuilder.createUser("other_" + System.nanoTime(), true));
+        Ticket submitted = entityManager.persistAndFlush(TestDataBuilder.createTicket("Soumis", testPriority, testUser));
+        Ticket unrelated = entityManager.persistAndFlush(TestDataBuilder.createTicket("Sans rapport", testPriority, other));
+        long version = submitted.getVersion();
+
+        // When
+        int touched = ticketDao.touchByUser(testUser.getId(), 30);
+
+        // Then
+        assertThat(touched).isEqualTo(1);
+        Ticket reloaded = ticketDao.findById(submitted.getId()).orElseThrow();
+        assertThat(reloaded.getChangeSeq()).isEqualTo(30);
+        assertThat(reloaded.getVersion()).isEqualTo(version);
+        assertThat(ticketDao.findById(unrelated.getId()).orElseThrow().getChangeSeq()).isNotEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Doit reporter un renommage de priorité sur la séquence de ses tickets")
+    void touchByPriority_ShouldMoveChangeSeqOfItsTickets() {
+        // Given
+        Priority other = entityManager.persistAndFlush(TestDataBuilder.createPriority("Basse_" + System.nanoTime()));
+        Ticket concerned = entityManager.persistAndFlush(TestDataBuilder.createTicket("Concerné", testPriority, testUser));
+        Ticket unrelated = entityManager.persistAndFlush(TestDataBuilder.createTicket("Sans rapport", other, testUser));
+        long version = concerned.getVersion();
+
+        // When
+        int touched = ticketDao.touchByPriority(testPriority.getId(), 40);
+
+        // Then
+        assertThat(touched).isEqualTo(1);
+        Ticket reloaded = ticketDao.findById(concerned.getId()).orElseThrow();
+        assertThat(reloaded.getChangeSeq()).isEqualTo(40);
+        assertThat(reloaded.getVersion()).isEqualTo(version);
+        assertThat(ticketDao.findById(unrelated.getId()).orElseThrow().getChangeSeq()).isNotEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Doit reporter un renommage de catégorie sur la séquence de ses tickets")
+    void touchByCategory_ShouldMoveChangeSeqOfItsTickets() {
+        // Given
+        Ticket concerned = TestDataBuilder.createTicket("Concerné", testPriority, testUser);
+        concerned.setCategories(List.of(testCategory));
+        entityManager.persistAndFlush(concerned);
+        Ticket unrelated = entityManager.persistAndFlush(TestDataBuilder.createTicket("Sans rapport", testPriority, testUser));
+
+        // When
+        int touched = ticketDao.touchByCategory(testCategory.getId(), 50);
+
+        // Then
+        assertThat(touched).isEqualTo(1);
+        assertThat(ticketDao.findById(concerned.getId()).orElseThrow().getChangeSeq()).isEqualTo(50);
+        assertThat(ticketDao.findById(unrelated.getId()).orElseThrow().getChangeSeq()).isNotEqualTo(50);
+    }
+}
@@ -64,4 +64,22 @@ class UserDaoTest {
         // Then
         assertThat(found).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Doit remplacer le hachage du mot de passe d'un utilisateur")
+    void updatePassword_ShouldReplaceHash() {
+        // Given
+        User user = TestDataBuilder.createUser("rehash", false);
+        entityManager.persistAndFlush(user);
+
+        // When
+        int updated = userDao.updatePassword("rehash", "{bcrypt}nouveau-hachage");
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(userDao.findByPseudo("rehash")).get()
+                .extracting(User::getPassword)
+                .isEqualTo("{bcrypt}nouveau-hachage");
+    }
+}
@@ -0,0 +1,99 @@
+package fr.arthur.devoir_java.integration.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import fr.arthur.devoir_java.config.VirtualThreadPinning;
+import fr.arthur.devoir_java.dao.TicketDao;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Pool Hikari réel (configuration de application.properties) sur H2, sans la transaction de test
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("Tests du pool de connexions sous threads virtuels")
+class VirtualThreadConnectionPoolTest {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TicketDao ticketDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Doit servir des centaines de transactions virtuelles simultanées sur un pool borné, sans épinglage ni expiration")
+    void virtualThreads_ShouldShareBoundedPoolWithoutPinning() throws Exception {
+        // Given
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger peakActive = new AtomicInteger();
+        AtomicInteger peakAwaiting = new AtomicInteger();
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        List<RecordedEvent> pinned = VirtualThreadPinning.pinnedEvents(() -> {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                    results.add(executor.submit(() -> transaction.execute(status -> {
+                        // La connexion reste prise pendant la transaction : les autres threads attendent le pool
+                        int unresolved = ticketDao.findUnresolvedViews().size();
+                        peakActive.accumulateAndGet(hikari.getHikariPoolMXBean().getActiveConnections(), Math::max);
+                        peakAwaiting.accumulateAndGet(hikari.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max);
+                        sleep(Duration.ofMillis(5));
+                        return unresolved + (int) ticketDao.count();
+                    })));
+                }
+            }
+        });
+
+        // Then
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(5000);
+        // Une attente de connexion au-delà du délai ferait échouer la tâche (SQLTransientConnectionException)
+        for (Future<Integer> result : results) {
+            assertThat(result.get()).isPositive();
+        }
+        assertThat(peakActive.get()).isEqualTo(hikari.getMaximumPoolSize());
+        assertThat(peakAwaiting.get()).isPositive();
+        assertThat(pinned).isEmpty();
+        assertThat(hikari.getHikariPoolMXBean().getThreadsAwaitingConnection()).isZero();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
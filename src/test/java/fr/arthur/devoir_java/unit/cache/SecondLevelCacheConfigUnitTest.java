@@ -0,0 +1,45 @@
+package fr.arthur.devoir_java.unit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import fr.arthur.devoir_java.cache.SecondLevelCacheConfig;
+import fr.arthur.devoir_java.cache.SecondLevelCacheProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires de la configuration du cache de second niveau")
+class SecondLevelCacheConfigUnitTest {
+
+    @Test
+    @DisplayName("Doit créer toutes les régions avec la taille et la durée de vie configurées")
+    void secondLevelCacheManager_ShouldCreateConfiguredRegions() {
+        // Given
+        SecondLevelCacheProperties.Region ticket = new SecondLevelCacheProperties.Region();
+        ticket.setMaxSize(42);
+        ticket.setTtl(Duration.ofSeconds(30));
+        SecondLevelCacheProperties properties = new SecondLevelCacheProperties();
+        properties.getRegions().put("ticket", ticket);
+
+        // When
+        try (CacheManager cacheManager = new SecondLevelCacheConfig().secondLevelCacheManager(properties)) {
+
+            // Then
+            assertThat(cacheManager.getCacheNames()).containsAll(SecondLevelCacheConfig.REGIONS)
+                    .contains(SecondLevelCacheConfig.UPDATE_TIMESTAMPS_REGION);
+
+            CaffeineConfiguration<?, ?> ticketConfiguration = cacheManager.getCache("ticket")
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertThat(ticketConfiguration.getMaximumSize()).isEqualTo(OptionalLong.of(42));
+            assertThat(ticketConfiguration.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofSeconds(30).toNanos()));
+
+            CaffeineConfiguration<?, ?> timestamps = cacheManager.getCache(SecondLevelCacheConfig.UPDATE_TIMESTAMPS_REGION)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertThat(timestamps.getExpireAfterWrite()).isEmpty();
+        }
+    }
+}
@@ -6,6 +6,10 @@ import fr.arthur.devoir_java.dao.UserDao;
 import fr.arthur.devoir_java.model.User;
 import fr.arthur.devoir_java.security.AppUserDetails;
 import fr.arthur.devoir_java.security.JwtUtils;
+import fr.arthur.devoir_java.security.PasswordHashingExecutor;
+import fr.arthur.devoir_java.security.PasswordHashingSaturatedException;
+import fr.arthur.devoir_java.service.PseudoBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +20,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -23,11 +28,17 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -48,9 +59,14 @@ class AuthControllerUnitTest {
     @Mock
     private PasswordEncoder mockPasswordEncoder;
 
+    @Mock
+    private PseudoBloomFilter mockPseudoBloomFilter;
+
     @InjectMocks
     private AuthController authController;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Captor
     private ArgumentCaptor<User> userCaptor;
 
@@ -58,6 +74,9 @@ class AuthControllerUnitTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(authController, "passwordHashingExecutor",
+                new PasswordHashingExecutor(2, 4, Duration.ofSeconds(2), meterRegistry));
+
         testUser = new User();
         testUser.setId(1);
         testUser.setPseudo("testuser");
@@ -66,10 +85,9 @@ class AuthControllerUnitTest {
     }
 
     @Test
-    @DisplayName("register - Doit créer un utilisateur avec succès quand données valides")
+    @DisplayName("register - Doit créer un utilisateur sans lecture en base quand le filtre exclut le pseudo")
     void register_ShouldCreateUser_WhenValidData() {
         // Given
-        when(mockUserDao.findByPseudo("testuser")).thenReturn(Optional.empty());
         when(mockPasswordEncoder.encode("plainPassword")).thenReturn("encodedPassword");
         when(mockUserDao.save(any(User.class))).thenReturn(testUser);
 
@@ -84,7 +102,8 @@ class AuthControllerUnitTest {
         assertThat(body.get("message")).isEqualTo("Utilisateur créé avec succès");
         assertThat(body.get("pseudo")).isEqualTo("testuser");
 
-        verify(mockUserDao).findByPseudo("testuser");
+        verify(mockUserDao, never()).findByPseudo(anyString());
+        verify(mockPseudoBloomFilter).put("testuser");
         verify(mockPasswordEncoder).encode("plainPassword");
         verify(mockUserDao).save(userCaptor.capture());
 
@@ -100,6 +119,7 @@ class AuthControllerUnitTest {
         // Given
         User existingUser = new User();
         existingUser.setPseudo("testuser");
+        when(mockPseudoBloomFilter.mightContain("testuser")).thenReturn(true);
         when(mockUserDao.findByPseudo("testuser")).thenReturn(Optional.of(existingUser));
 
         // When
@@ -121,7 +141,6 @@ class AuthControllerUnitTest {
     @DisplayName("register - Doit gérer les exceptions lors de la sauvegarde")
     void register_ShouldHandleException_WhenSaveThrows() {
         // Given
-        when(mockUserDao.findByPseudo("testuser")).thenReturn(Optional.empty());
         when(mockPasswordEncoder.encode("plainPassword")).thenReturn("encodedPassword");
         when(mockUserDao.save(any(User.class))).thenThrow(new RuntimeException("Database error"));
 
@@ -243,7 +262,6 @@ class AuthControllerUnitTest {
             user.setPseudo("user_" + password.hashCode());
             user.setPassword(password);
 
-            when(mockUserDao.findByPseudo(anyString())).thenReturn(Optional.empty());
             when(mockPasswordEncoder.encode(password)).thenReturn("encoded_" + password);
             when(mockUserDao.save(any(User.class))).thenReturn(user);
 
@@ -287,4 +305,98 @@ class AuthControllerUnitTest {
         assertThat(capturedToken.getPrincipal()).isEqualTo("testuser");
         assertThat(capturedToken.getCredentials()).isEqualTo("password");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("login - Doit laisser remonter la saturation du pool de hachage pour répondre 503")
+    void login_ShouldThrowSaturated_WhenHashingPoolFull() {
+        // Given
+        when(mockAuthenticationProvider.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new PasswordHashingSaturatedException(Duration.ofSeconds(2)));
+
+        User loginUser = new User();
+        loginUser.setPseudo("testuser");
+        loginUser.setPassword("password");
+
+        // When / Then
+        assertThatThrownBy(() -> authController.login(loginUser))
+                .isInstanceOf(PasswordHashingSaturatedException.class);
+        verify(mockJwtUtils, never()).generateToken(any());
+    }
+
+    @Test
+    @DisplayName("register - Doit refuser sans écrire en base quand le pool de hachage est saturé")
+    void register_ShouldThrowSaturated_WhenHashingPoolFull() {
+        // Given
+        PasswordHashingExecutor saturated = mock(PasswordHashingExecutor.class);
+        when(saturated.call(any())).thenThrow(new PasswordHashingSaturatedException(Duration.ofSeconds(2)));
+        ReflectionTestUtils.setField(authController, "passwordHashingExecutor", saturated);
+
+        // When / Then
+        assertThatThrownBy(() -> authController.register(testUser))
+                .isInstanceOf(PasswordHashingSaturatedException.class);
+        verify(mockUserDao, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("register - Doit hacher sur le pool et écrire en base sur le thread de requête")
+    void register_ShouldOnlyHashOnPool() throws Exception {
+        // Given
+        when(mockPasswordEncoder.encode("plainPassword")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(mockUserDao.save(any(User.class))).thenAnswer(invocation -> {
+            assertThat(Thread.currentThread().getName()).startsWith("requete-");
+            return invocation.getArgument(0);
+        });
+
+        // When
+        ResponseEntity<?> response = onRequestThread(() -> authController.register(testUser));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(mockUserDao).save(userCaptor.capture());
+        assertThat(userCaptor.getValue().getPassword()).startsWith("password-hashing-");
+        assertThat(meterRegistry.get("auth.password.hashing.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("register - Doit vérifier en base quand le filtre signale un pseudo possiblement pris")
+    void register_ShouldLookup_WhenFilterMightContain() {
+        // Given
+        when(mockPseudoBloomFilter.mightContain("testuser")).thenReturn(true);
+        when(mockUserDao.findByPseudo("testuser")).thenReturn(Optional.empty());
+        when(mockPasswordEncoder.encode("plainPassword")).thenReturn("encodedPassword");
+
+        // When
+        ResponseEntity<?> response = authController.register(testUser);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(mockUserDao).findByPseudo("testuser");
+        verify(mockUserDao).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("register - Doit répondre 409 quand la contrainte d'unicité rejette le pseudo")
+    void register_ShouldRejectConflict_WhenUniqueConstraintFails() {
+        // Given
+        when(mockPasswordEncoder.encode("plainPassword")).thenReturn("encodedPassword");
+        when(mockUserDao.save(any(User.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When
+        ResponseEntity<?> response = authController.register(testUser);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertThat(body.get("error")).isEqualTo("Ce pseudo est déjà utilisé");
+        verify(mockPseudoBloomFilter, never()).put(anyString());
+    }
+
+    // Les requêtes sont servies par des threads virtuels (spring.threads.virtual.enabled)
+    private static <T> T onRequestThread(Callable<T> task) throws Exception {
+        try (ExecutorService requests = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("requete-", 0).factory())) {
+            return requests.submit(task).get();
+        }
+    }
+}
@@ -1,4 +1,152 @@
 package fr.arthur.devoir_java.unit.controller;
 
-public class CategoryControllerUnitTest {
+import fr.arthur.devoir_java.controller.CategoryController;
+import fr.arthur.devoir_java.dao.CategoryDao;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Category;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.service.UnresolvedTicketFeed;
+import fr.arthur.devoir_java.view.CategoryView;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du contrôleur des catégories")
+class CategoryControllerUnitTest {
+
+    @Mock
+    private CategoryDao mockCategoryDao;
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @Mock
+    private ReferenceDataCache mockReferenceDataCache;
+
+    @Mock
+    private CollectionVersions mockCollectionVersions;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    @Spy
+    private TicketChangeLog ticketChangeLog = new TicketChangeLog();
+
+    @InjectMocks
+    private CategoryController categoryController;
+
+    // Vue réelle, alimentée par le même TicketDao que le contrôleur
+    @InjectMocks
+    private UnresolvedTicketFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        // Comme le contexte Spring : un TicketBulkChangeEvent fait relire la vue
+        lenient().doAnswer(invocation -> {
+            feed.rebuild();
+            return null;
+        }).when(mockEventPublisher).publishEvent(any(TicketBulkChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("update - Doit reconstruire la vue des tickets quand la catégorie est renommée")
+    void update_ShouldRebuildUnresolvedFeed_WhenCategoryRenamed() {
+        // Given
+        when(mockTicketDao.findUnresolvedViews())
+                .thenReturn(List.of(view(1, "Matériel")))
+                .thenReturn(List.of(view(1, "Réseau")));
+        feed.rebuild();
+        when(mockReferenceDataCache.findCategory(1)).thenReturn(Optional.of(new Category(1, "Matériel")));
+        when(mockTicketDao.touchByCategory(1, 1)).thenReturn(1);
+
+        // When
+        ResponseEntity<?> response = categoryController.update(1, new Category(null, "Réseau"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ArgumentCaptor<TicketBulkChangeEvent> event = ArgumentCaptor.forClass(TicketBulkChangeEvent.class);
+        verify(mockEventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TicketChangeEvent.Type.UPDATED);
+        assertThat(event.getValue().getCount()).isEqualTo(1);
+        assertThat(feed.findAll()).flatExtracting(TicketView::getCategories).extracting(CategoryView::getName).containsExactly("Réseau");
+    }
+
+    @Test
+    @DisplayName("update - Ne doit rien publier quand aucun ticket n'utilise la catégorie")
+    void update_ShouldNotPublish_WhenNoTicketUsesCategory() {
+        // Given
+        when(mockReferenceDataCache.findCategory(1)).thenReturn(Optional.of(new Category(1, "Matériel")));
+        when(mockTicketDao.touchByCategory(eq(1), anyLong())).thenReturn(0);
+
+        // When
+        categoryController.update(1, new Category(null, "Réseau"));
+
+        // Then
+        verify(mockCategoryDao).save(any(Category.class));
+        verify(mockReferenceDataCache).refreshCategories();
+        verifyNoInteractions(mockEventPublisher);
+    }
+
+    @Test
+    @DisplayName("update - Doit retourner 404 sans toucher aux tickets quand la catégorie n'existe pas")
+    void update_ShouldReturnNotFound_WhenCategoryMissing() {
+        // Given
+        when(mockReferenceDataCache.findCategory(99)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = categoryController.update(99, new Category(null, "Réseau"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        verifyNoInteractions(mockTicketDao, mockEventPublisher);
+    }
+
+    @Test
+    @DisplayName("delete - Doit reconstruire la vue des tickets quand des tickets référençaient la catégorie")
+    void delete_ShouldPublishBulkChange_WhenTicketsTouched() {
+        // Given
+        when(mockReferenceDataCache.findCategory(1)).thenReturn(Optional.of(new Category(1, "Matériel")));
+        when(mockTicketDao.touchByCategory(eq(1), anyLong())).thenReturn(2);
+
+        // When
+        ResponseEntity<?> response = categoryController.delete(1);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(mockCategoryDao).deleteById(1);
+        verify(mockEventPublisher).publishEvent(any(TicketBulkChangeEvent.class));
+        verify(mockTicketDao).findUnresolvedViews();
+    }
+
+    private static TicketWithPseudoView view(int id, String categoryName) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setCategories(List.of(new Category(1, categoryName)));
+        return TicketWithPseudoView.of(ticket);
+    }
 }
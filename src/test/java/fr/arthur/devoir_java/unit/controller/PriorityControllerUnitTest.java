@@ -1,4 +1,150 @@
 package fr.arthur.devoir_java.unit.controller;
 
-public class PriorityControllerUnitTest {
+import fr.arthur.devoir_java.controller.PriorityController;
+import fr.arthur.devoir_java.dao.PriorityDao;
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.service.UnresolvedTicketFeed;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du contrôleur des priorités")
+class PriorityControllerUnitTest {
+
+    @Mock
+    private PriorityDao mockPriorityDao;
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @Mock
+    private ReferenceDataCache mockReferenceDataCache;
+
+    @Mock
+    private CollectionVersions mockCollectionVersions;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    @Spy
+    private TicketChangeLog ticketChangeLog = new TicketChangeLog();
+
+    @InjectMocks
+    private PriorityController priorityController;
+
+    // Vue réelle, alimentée par le même TicketDao que le contrôleur
+    @InjectMocks
+    private UnresolvedTicketFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        // Comme le contexte Spring : un TicketBulkChangeEvent fait relire la vue
+        lenient().doAnswer(invocation -> {
+            feed.rebuild();
+            return null;
+        }).when(mockEventPublisher).publishEvent(any(TicketBulkChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("update - Doit reconstruire la vue des tickets quand la priorité est renommée")
+    void update_ShouldRebuildUnresolvedFeed_WhenPriorityRenamed() {
+        // Given
+        when(mockTicketDao.findUnresolvedViews())
+                .thenReturn(List.of(view(1, "Haute")))
+                .thenReturn(List.of(view(1, "Urgente")));
+        feed.rebuild();
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(new Priority(1, "Haute")));
+        when(mockTicketDao.touchByPriority(1, 1)).thenReturn(1);
+
+        // When
+        ResponseEntity<?> response = priorityController.update(1, new Priority(null, "Urgente"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ArgumentCaptor<TicketBulkChangeEvent> event = ArgumentCaptor.forClass(TicketBulkChangeEvent.class);
+        verify(mockEventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TicketChangeEvent.Type.UPDATED);
+        assertThat(event.getValue().getCount()).isEqualTo(1);
+        assertThat(feed.findAll()).extracting(ticket -> ticket.getPriority().getName()).containsExactly("Urgente");
+    }
+
+    @Test
+    @DisplayName("update - Ne doit rien publier quand aucun ticket n'utilise la priorité")
+    void update_ShouldNotPublish_WhenNoTicketUsesPriority() {
+        // Given
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(new Priority(1, "Haute")));
+        when(mockTicketDao.touchByPriority(eq(1), anyLong())).thenReturn(0);
+
+        // When
+        priorityController.update(1, new Priority(null, "Urgente"));
+
+        // Then
+        verify(mockPriorityDao).save(any(Priority.class));
+        verify(mockReferenceDataCache).refreshPriorities();
+        verifyNoInteractions(mockEventPublisher);
+    }
+
+    @Test
+    @DisplayName("update - Doit retourner 404 sans toucher aux tickets quand la priorité n'existe pas")
+    void update_ShouldReturnNotFound_WhenPriorityMissing() {
+        // Given
+        when(mockReferenceDataCache.findPriority(99)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = priorityController.update(99, new Priority(null, "Urgente"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        verifyNoInteractions(mockTicketDao, mockEventPublisher);
+    }
+
+    @Test
+    @DisplayName("delete - Doit reconstruire la vue des tickets quand des tickets référençaient la priorité")
+    void delete_ShouldPublishBulkChange_WhenTicketsTouched() {
+        // Given
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(new Priority(1, "Haute")));
+        when(mockTicketDao.touchByPriority(eq(1), anyLong())).thenReturn(2);
+
+        // When
+        ResponseEntity<Priority> response = priorityController.delete(1);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(mockPriorityDao).deleteById(1);
+        verify(mockEventPublisher).publishEvent(any(TicketBulkChangeEvent.class));
+        verify(mockTicketDao).findUnresolvedViews();
+    }
+
+    private static TicketWithPseudoView view(int id, String priorityName) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setPriority(new Priority(1, priorityName));
+        return TicketWithPseudoView.of(ticket);
+    }
 }
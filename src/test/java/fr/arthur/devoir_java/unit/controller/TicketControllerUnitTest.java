@@ -1,30 +1,54 @@
 package fr.arthur.devoir_java.unit.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.arthur.devoir_java.controller.TicketController;
-import fr.arthur.devoir_java.dao.CategoryDao;
-import fr.arthur.devoir_java.dao.PriorityDao;
 import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.dao.TicketPatch;
+import fr.arthur.devoir_java.dao.TicketResolveRequest;
+import fr.arthur.devoir_java.dao.TicketSearchCriteria;
 import fr.arthur.devoir_java.dao.UserDao;
 import fr.arthur.devoir_java.model.Category;
 import fr.arthur.devoir_java.model.Priority;
 import fr.arthur.devoir_java.model.Ticket;
 import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
 import fr.arthur.devoir_java.security.AppUserDetails;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.service.TicketFullTextIndex;
+import fr.arthur.devoir_java.service.TicketIngestionQueue;
+import fr.arthur.devoir_java.view.ChangeCursor;
+import fr.arthur.devoir_java.view.CursorPage;
+import fr.arthur.devoir_java.view.TicketChangesView;
+import fr.arthur.devoir_java.view.TicketIngestionView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import fr.arthur.devoir_java.web.VersionedCollection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,13 +62,26 @@ class TicketControllerUnitTest {
     private TicketDao mockTicketDao;
 
     @Mock
-    private PriorityDao mockPriorityDao;
+    private ReferenceDataCache mockReferenceDataCache;
 
     @Mock
-    private CategoryDao mockCategoryDao;
+    private UserDao mockUserDao;
 
     @Mock
-    private UserDao mockUserDao;
+    private ApplicationEventPublisher mockEventPublisher;
+
+    @Mock
+    private TicketFullTextIndex mockFullTextIndex;
+
+    @Mock
+    private TicketIngestionQueue mockIngestionQueue;
+
+    // Vrai journal : seules l'attribution des séquences et leur libération sont exercées ici
+    @Spy
+    private TicketChangeLog ticketChangeLog;
+
+    @Spy
+    private CollectionVersions collectionVersions;
 
     @Mock
     private SecurityContext mockSecurityContext;
@@ -84,7 +121,11 @@ class TicketControllerUnitTest {
         testUser.setPseudo("testuser");
         testUser.setAdmin(false);
 
-        testUserDetails = new AppUserDetails(testUser);
+        // Utilisateur du jeton, émis avant un renommage : seul son id doit servir
+        User tokenUser = new User();
+        tokenUser.setId(1);
+        tokenUser.setPseudo("ancien_pseudo");
+        testUserDetails = new AppUserDetails(tokenUser);
 
         testTicket = new Ticket();
         testTicket.setId(1);
@@ -97,33 +138,71 @@ class TicketControllerUnitTest {
     }
 
     @Test
-    @DisplayName("getAll - Doit retourner tous les tickets")
-    void getAll_ShouldReturnAllTickets() {
+    @DisplayName("getAll - Doit retourner la première page de tickets")
+    void getAll_ShouldReturnFirstPage() {
         // Given
-        List<Ticket> expectedTickets = Collections.singletonList(testTicket);
-        when(mockTicketDao.findAll()).thenReturn(expectedTickets);
+        TicketWithPseudoView view = TicketWithPseudoView.of(testTicket);
+        when(mockTicketDao.findViewsAfter(0, Limit.of(21))).thenReturn(List.of(view));
 
         // When
-        List<Ticket> result = ticketController.getAll();
+        ResponseEntity<CursorPage<TicketWithPseudoView>> response = ticketController.getAll(null, 20, "id,asc");
 
         // Then
-        assertThat(result).hasSize(1);
-        assertThat(result).containsExactly(testTicket);
-        verify(mockTicketDao).findAll();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getItems()).containsExactly(view);
+        assertThat(response.getBody().getItems().get(0).getSubmittingUserPseudo()).isEqualTo("testuser");
+        assertThat(response.getBody().getNextCursor()).isNull();
+        verify(mockTicketDao).findViewsAfter(0, Limit.of(21));
+        verify(mockTicketDao).attachCategories(List.of(view));
     }
 
     @Test
     @DisplayName("getAll - Doit retourner une liste vide quand aucun ticket")
     void getAll_ShouldReturnEmptyList_WhenNoTickets() {
         // Given
-        when(mockTicketDao.findAll()).thenReturn(Collections.emptyList());
+        when(mockTicketDao.findViewsAfter(0, Limit.of(21))).thenReturn(Collections.emptyList());
+
+        // When
+        ResponseEntity<CursorPage<TicketWithPseudoView>> response = ticketController.getAll(null, 20, "id,asc");
+
+        // Then
+        assertThat(response.getBody().getItems()).isEmpty();
+        assertThat(response.getBody().getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getAll - Doit fournir un curseur qui reprend après le dernier ticket")
+    void getAll_ShouldReturnCursor_WhenMoreTicketsExist() {
+        // Given
+        Ticket secondTicket = new Ticket();
+        secondTicket.setId(2);
+        secondTicket.setPriority(testPriority);
+        TicketWithPseudoView secondView = TicketWithPseudoView.of(secondTicket);
+        when(mockTicketDao.findViewsBefore(Integer.MAX_VALUE, Limit.of(2)))
+                .thenReturn(List.of(secondView, TicketWithPseudoView.of(testTicket)));
 
         // When
-        List<Ticket> result = ticketController.getAll();
+        ResponseEntity<CursorPage<TicketWithPseudoView>> firstPage = ticketController.getAll(null, 1, "id,desc");
+        String nextCursor = firstPage.getBody().getNextCursor();
+        ticketController.getAll(nextCursor, 1, "id,asc");
 
         // Then
-        assertThat(result).isEmpty();
-        verify(mockTicketDao).findAll();
+        assertThat(firstPage.getBody().getItems()).containsExactly(secondView);
+        assertThat(nextCursor).isNotNull();
+        // Le sens du tri est porté par le curseur
+        verify(mockTicketDao).findViewsBefore(2, Limit.of(2));
+    }
+
+    @Test
+    @DisplayName("getAll - Doit rejeter un curseur ou une taille invalide")
+    void getAll_ShouldReturnBadRequest_WhenParametersInvalid() {
+        assertThat(ticketController.getAll("pas-un-curseur", 20, "id,asc").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(ticketController.getAll(null, 0, "id,asc").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(ticketController.getAll(null, 20, "title,asc").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mockTicketDao);
     }
 
     @Test
@@ -141,6 +220,28 @@ class TicketControllerUnitTest {
         verify(mockTicketDao).findById(1);
     }
 
+    @Test
+    @DisplayName("get - Doit dériver l'ETag de la version du ticket et non des écritures sur les autres tickets")
+    void get_ShouldDeriveETagFromTicketVersion() {
+        // Given
+        testTicket.setVersion(3L);
+        when(mockTicketDao.findById(1)).thenReturn(Optional.of(testTicket));
+        String first = ticketController.get(1).getHeaders().getETag();
+
+        // When
+        collectionVersions.bump(VersionedCollection.TICKETS);
+        String afterOtherWrite = ticketController.get(1).getHeaders().getETag();
+        testTicket.setVersion(4L);
+        String afterUpdate = ticketController.get(1).getHeaders().getETag();
+        collectionVersions.bump(VersionedCollection.PRIORITIES);
+        String afterPriorityRename = ticketController.get(1).getHeaders().getETag();
+
+        // Then
+        assertThat(first).isNotNull().isEqualTo(afterOtherWrite);
+        assertThat(afterUpdate).isNotEqualTo(first);
+        assertThat(afterPriorityRename).isNotEqualTo(afterUpdate);
+    }
+
     @Test
     @DisplayName("get - Doit retourner NOT_FOUND quand ID n'existe pas")
     void get_ShouldReturnNotFound_WhenIdDoesNotExist() {
@@ -166,24 +267,25 @@ class TicketControllerUnitTest {
         newTicket.setPriority(testPriority);
         newTicket.setCategories(Collections.singletonList(testCategory1));
 
-        when(mockPriorityDao.findById(1)).thenReturn(Optional.of(testPriority));
-        when(mockCategoryDao.findAllById(List.of(1))).thenReturn(Collections.singletonList(testCategory1));
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(testPriority));
+        when(mockReferenceDataCache.findCategoriesById(List.of(1))).thenReturn(Collections.singletonList(testCategory1));
         when(mockTicketDao.save(any(Ticket.class))).thenReturn(newTicket);
 
         try (MockedStatic<SecurityContextHolder> securityMock = mockStatic(SecurityContextHolder.class)) {
             securityMock.when(SecurityContextHolder::getContext).thenReturn(mockSecurityContext);
             when(mockSecurityContext.getAuthentication()).thenReturn(mockAuthentication);
             when(mockAuthentication.getPrincipal()).thenReturn(testUserDetails);
+            when(mockUserDao.getReferenceById(1)).thenReturn(testUser);
 
             // When
-            ResponseEntity<?> response = ticketController.save(newTicket);
+            ResponseEntity<?> response = ticketController.save(newTicket, List.of("return=representation"));
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
             assertThat(response.getBody()).isEqualTo(newTicket);
 
-            verify(mockPriorityDao).findById(1);
-            verify(mockCategoryDao).findAllById(List.of(1));
+            verify(mockReferenceDataCache).findPriority(1);
+            verify(mockReferenceDataCache).findCategoriesById(List.of(1));
             verify(mockTicketDao).save(ticketCaptor.capture());
 
             Ticket savedTicket = ticketCaptor.getValue();
@@ -192,6 +294,7 @@ class TicketControllerUnitTest {
             assertThat(savedTicket.isResolved()).isFalse();
             assertThat(savedTicket.getPriority()).isEqualTo(testPriority);
             assertThat(savedTicket.getCategories()).containsExactly(testCategory1);
+            assertThat(savedTicket.getChangeSeq()).isEqualTo(1);
         }
     }
 
@@ -205,28 +308,316 @@ class TicketControllerUnitTest {
         newTicket.setPriority(testPriority);
         newTicket.setCategories(null);
 
-        when(mockPriorityDao.findById(1)).thenReturn(Optional.of(testPriority));
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(testPriority));
         when(mockTicketDao.save(any(Ticket.class))).thenReturn(newTicket);
 
         try (MockedStatic<SecurityContextHolder> securityMock = mockStatic(SecurityContextHolder.class)) {
             securityMock.when(SecurityContextHolder::getContext).thenReturn(mockSecurityContext);
             when(mockSecurityContext.getAuthentication()).thenReturn(mockAuthentication);
             when(mockAuthentication.getPrincipal()).thenReturn(testUserDetails);
+            when(mockUserDao.getReferenceById(1)).thenReturn(testUser);
 
             // When
-            ResponseEntity<?> response = ticketController.save(newTicket);
+            ResponseEntity<?> response = ticketController.save(newTicket, null);
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-            verify(mockCategoryDao, never()).findAllById(anyList());
+            verify(mockReferenceDataCache, never()).findCategoriesById(anyList());
+        }
+    }
+
+    @Test
+    @DisplayName("save - Doit mettre le ticket en file et répondre 202 quand respond-async figure parmi les préférences")
+    void save_ShouldQueueTicketAndAccept_WhenRespondAsyncPreferred() {
+        // Given
+        UUID receipt = UUID.randomUUID();
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Alerte CPU");
+        newTicket.setPriority(new Priority(1, null));
+
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(testPriority));
+        when(mockIngestionQueue.submit(newTicket)).thenReturn(Optional.of(TicketIngestionView.pending(receipt, 1000)));
+
+        try (MockedStatic<SecurityContextHolder> securityMock = mockStatic(SecurityContextHolder.class)) {
+            securityMock.when(SecurityContextHolder::getContext).thenReturn(mockSecurityContext);
+            when(mockSecurityContext.getAuthentication()).thenReturn(mockAuthentication);
+            when(mockAuthentication.getPrincipal()).thenReturn(testUserDetails);
+            when(mockUserDao.getReferenceById(1)).thenReturn(testUser);
+
+            // When
+            ResponseEntity<?> response = ticketController.save(newTicket, List.of("return=minimal, Respond-Async; foo, wait=5"));
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+            assertThat(response.getHeaders().getLocation()).hasToString("/api/ticket/ingestion/" + receipt);
+            assertThat(((TicketIngestionView) response.getBody()).getStatus()).isEqualTo(TicketIngestionView.Status.PENDING);
+            assertThat(((TicketIngestionView) response.getBody()).getTicketId()).isEqualTo(1000);
+            assertThat(newTicket.getPriority()).isSameAs(testPriority);
+            assertThat(newTicket.getSubmittingUser()).isEqualTo(testUser);
+            verify(mockTicketDao, never()).save(any(Ticket.class));
         }
     }
 
+    @Test
+    @DisplayName("save - Doit répondre 503 avec Retry-After quand la file est pleine")
+    void save_ShouldReturnServiceUnavailable_WhenIngestionQueueFull() {
+        // Given
+        ReflectionTestUtils.setField(ticketController, "ingestionRetryAfter", Duration.ofSeconds(2));
+        Ticket newTicket = new Ticket();
+        newTicket.setTitle("Alerte CPU");
+        newTicket.setPriority(new Priority(1, null));
+
+        when(mockReferenceDataCache.findPriority(1)).thenReturn(Optional.of(testPriority));
+        when(mockIngestionQueue.submit(newTicket)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<?> response = ticketController.save(newTicket, List.of("respond-async", "wait=5"));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("getIngestionStatus - Doit retourner 404 pour un reçu inconnu ou expiré")
+    void getIngestionStatus_ShouldReturnNotFound_WhenReceiptUnknown() {
+        // Given
+        UUID receipt = UUID.randomUUID();
+        when(mockIngestionQueue.status(receipt)).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<TicketIngestionView> response = ticketController.getIngestionStatus(receipt);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("getChanges - Doit reprendre le journal à la position since")
+    void getChanges_ShouldResumeFromSince() {
+        // Given
+        TicketChangesView changes = new TicketChangesView(List.of(), List.of(1004), "42", false);
+        doReturn(changes).when(ticketChangeLog).changesSince(argThat(cursor ->
+                cursor.getChangeSeq() == 40 && cursor.getLastId() == 1003), eq(100));
+
+        // When
+        ResponseEntity<TicketChangesView> response = ticketController.getChanges("40:1003", 100);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(changes);
+    }
+
+    @Test
+    @DisplayName("getChanges - Doit refuser une position illisible")
+    void getChanges_ShouldReturnBadRequest_WhenSinceInvalid() {
+        // When
+        ResponseEntity<TicketChangesView> response = ticketController.getChanges("abc", 100);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(ticketChangeLog, never()).changesSince(any(ChangeCursor.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("saveBatch - Doit résoudre les références en une requête et insérer tout le lot")
+    void saveBatch_ShouldResolveReferencesOnceAndSaveAll() {
+        // Given
+        Ticket first = new Ticket();
+        first.setTitle("Alerte disque");
+        first.setPriority(new Priority(1, null));
+        first.setCategories(List.of(new Category(1, null), new Category(2, null)));
+
+        Ticket second = new Ticket();
+        second.setTitle("Alerte mémoire");
+        second.setPriority(new Priority(1, null));
+        second.setCategories(List.of(new Category(2, null)));
+
+        when(mockReferenceDataCache.findPrioritiesById(Set.of(1))).thenReturn(List.of(testPriority));
+        when(mockReferenceDataCache.findCategoriesById(Set.of(1, 2))).thenReturn(List.of(testCategory1, testCategory2));
+
+        try (MockedStatic<SecurityContextHolder> securityMock = mockStatic(SecurityContextHolder.class)) {
+            securityMock.when(SecurityContextHolder::getContext).thenReturn(mockSecurityContext);
+            when(mockSecurityContext.getAuthentication()).thenReturn(mockAuthentication);
+            when(mockAuthentication.getPrincipal()).thenReturn(testUserDetails);
+            when(mockUserDao.getReferenceById(1)).thenReturn(testUser);
+
+            // When
+            ResponseEntity<?> response = ticketController.saveBatch(List.of(first, second));
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            verify(mockTicketDao).saveAll(List.of(first, second));
+            verify(mockEventPublisher, times(2)).publishEvent(any(TicketChangeEvent.class));
+
+            assertThat(first.getPriority()).isSameAs(testPriority);
+            assertThat(first.getCategories()).containsExactly(testCategory1, testCategory2);
+            assertThat(second.getCategories()).containsExactly(testCategory2);
+            assertThat(second.getSubmittingUser()).isEqualTo(testUser);
+        }
+    }
+
+    @Test
+    @DisplayName("saveBatch - Doit refuser tout le lot quand une priorité est inconnue")
+    void saveBatch_ShouldReturnBadRequest_WhenPriorityUnknown() {
+        // Given
+        Ticket ticket = new Ticket();
+        ticket.setTitle("Alerte réseau");
+        ticket.setPriority(new Priority(99, null));
+
+        when(mockReferenceDataCache.findPrioritiesById(Set.of(99))).thenReturn(List.of());
+
+        // When
+        ResponseEntity<?> response = ticketController.saveBatch(List.of(ticket));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(mockTicketDao, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("patch - Doit appliquer le patch sans recharger priorité ni catégories")
+    void patch_ShouldApplyTitleOnly() throws Exception {
+        // Given
+        JsonNode document = new ObjectMapper().readTree("{\"title\": \"Nouveau titre\"}");
+        TicketWithPseudoView before = TicketWithPseudoView.of(testTicket);
+        testTicket.setTitle("Nouveau titre");
+        TicketWithPseudoView after = TicketWithPseudoView.of(testTicket);
+
+        when(mockTicketDao.findViewById(1)).thenReturn(Optional.of(before), Optional.of(after));
+        when(mockTicketDao.patch(eq(1), any(TicketPatch.class), anyLong())).thenReturn(true);
+
+        // When
+        ResponseEntity<TicketWithPseudoView> response = ticketController.patch(1, document);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTitle()).isEqualTo("Nouveau titre");
+        verifyNoInteractions(mockReferenceDataCache);
+        verify(mockEventPublisher).publishEvent(any(TicketChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("patch - Doit refuser un champ non modifiable")
+    void patch_ShouldReturnBadRequest_WhenFieldNotPatchable() throws Exception {
+        // Given
+        JsonNode document = new ObjectMapper().readTree("{\"resolved\": true}");
+
+        // When
+        ResponseEntity<TicketWithPseudoView> response = ticketController.patch(1, document);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mockTicketDao);
+    }
+
+    @Test
+    @DisplayName("update - Doit retourner 409 quand la version fournie est périmée")
+    void update_ShouldReturnConflict_WhenVersionStale() {
+        // Given
+        testTicket.setVersion(3L);
+        Ticket updateRequest = new Ticket();
+        updateRequest.setTitle("Titre modifié");
+        updateRequest.setVersion(2L);
+
+        when(mockTicketDao.findById(1)).thenReturn(Optional.of(testTicket));
+
+        // When
+        ResponseEntity<?> response = ticketController.update(1, updateRequest);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(testTicket.getTitle()).isEqualTo("Test Ticket");
+        verify(mockTicketDao, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    @DisplayName("resolve - Doit résoudre le ticket et publier l'état précédent")
+    void resolve_ShouldResolveTicket_WhenUnresolved() {
+        // Given
+        testTicket.setResolved(true);
+        when(mockTicketDao.resolveById(eq(1), isNull(), isNull(), anyLong())).thenReturn(1);
+        when(mockTicketDao.findById(1)).thenReturn(Optional.of(testTicket));
+
+        // When
+        ResponseEntity<Ticket> response = ticketController.resolve(1, null);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ArgumentCaptor<TicketChangeEvent> eventCaptor = ArgumentCaptor.forClass(TicketChangeEvent.class);
+        verify(mockEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getBefore().isResolved()).isFalse();
+        assertThat(eventCaptor.getValue().getAfter().isResolved()).isTrue();
+    }
+
+    @Test
+    @DisplayName("resolve - Doit retourner 409 quand le ticket est déjà résolu")
+    void resolve_ShouldReturnConflict_WhenAlreadyResolved() {
+        // Given
+        when(mockTicketDao.resolveById(eq(1), isNull(), isNull(), anyLong())).thenReturn(0);
+        when(mockTicketDao.existsById(1)).thenReturn(true);
+
+        // When
+        ResponseEntity<Ticket> response = ticketController.resolve(1, null);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        verify(mockEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("resolve - Doit retourner 404 quand le ticket n'existe pas")
+    void resolve_ShouldReturnNotFound_WhenIdDoesNotExist() {
+        // Given
+        when(mockTicketDao.resolveById(eq(999), isNull(), isNull(), anyLong())).thenReturn(0);
+        when(mockTicketDao.existsById(999)).thenReturn(false);
+
+        // When
+        ResponseEntity<Ticket> response = ticketController.resolve(999, null);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("resolveAll - Doit résoudre les ids en une instruction et signaler la mise à jour ensembliste")
+    void resolveAll_ShouldResolveIds() {
+        // Given
+        TicketResolveRequest request = new TicketResolveRequest();
+        request.setIds(List.of(1, 2, 3));
+        when(mockTicketDao.resolveByIdIn(eq(List.of(1, 2, 3)), isNull(), anyLong())).thenReturn(2);
+
+        // When
+        ResponseEntity<Map<String, Integer>> response = ticketController.resolveAll(request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("resolved", 2);
+        verify(mockEventPublisher).publishEvent(any(TicketBulkChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("resolveAll - Doit refuser une requête avec à la fois des ids et un filtre")
+    void resolveAll_ShouldReturnBadRequest_WhenIdsAndFilter() {
+        // Given
+        TicketResolveRequest request = new TicketResolveRequest();
+        request.setIds(List.of(1));
+        request.setFilter(new TicketSearchCriteria());
+
+        // When
+        ResponseEntity<Map<String, Integer>> response = ticketController.resolveAll(request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mockTicketDao);
+    }
+
     @Test
     @DisplayName("delete - Doit supprimer le ticket quand ID existe")
     void delete_ShouldDeleteTicket_WhenIdExists() {
         // Given
         when(mockTicketDao.findById(1)).thenReturn(Optional.of(testTicket));
+        when(mockTicketDao.deleteWithTombstone(eq(1), anyLong())).thenReturn(true);
 
         // When
         ResponseEntity<Ticket> response = ticketController.delete(1);
@@ -235,7 +626,13 @@ class TicketControllerUnitTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         assertThat(response.getBody()).isNull();
         verify(mockTicketDao).findById(1);
-        verify(mockTicketDao).deleteById(1);
+        verify(mockTicketDao).deleteWithTombstone(eq(1), anyLong());
+        assertThat(ticketChangeLog.watermark()).isEqualTo(1);
+
+        ArgumentCaptor<TicketChangeEvent> eventCaptor = ArgumentCaptor.forClass(TicketChangeEvent.class);
+        verify(mockEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(TicketChangeEvent.Type.DELETED);
+        assertThat(eventCaptor.getValue().getTicketId()).isEqualTo(1);
     }
 
     @Test
@@ -254,7 +651,7 @@ class TicketControllerUnitTest {
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(mockPriorityDao, never()).findById(anyInt());
+        verify(mockReferenceDataCache, never()).findPriority(anyInt());
     }
 
     @Test
@@ -273,6 +670,27 @@ class TicketControllerUnitTest {
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(mockCategoryDao, never()).findAllById(anyList());
+        verify(mockReferenceDataCache, never()).findCategoriesById(anyList());
+    }
+
+    @Test
+    @DisplayName("fullText - Doit retourner les tickets dans l'ordre du classement")
+    void fullText_ShouldReturnTicketsInRankOrder() {
+        // Given
+        Ticket otherTicket = new Ticket();
+        otherTicket.setId(2);
+        otherTicket.setPriority(testPriority);
+        TicketWithPseudoView first = TicketWithPseudoView.of(testTicket);
+        TicketWithPseudoView second = TicketWithPseudoView.of(otherTicket);
+
+        when(mockFullTextIndex.search("serveur", 20)).thenReturn(List.of(2, 1));
+        when(mockTicketDao.findViewsByIdIn(List.of(2, 1))).thenReturn(List.of(first, second));
+
+        // When
+        ResponseEntity<List<TicketWithPseudoView>> response = ticketController.fullText("serveur", 20);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(second, first);
     }
-}
\ No newline at end of file
+}
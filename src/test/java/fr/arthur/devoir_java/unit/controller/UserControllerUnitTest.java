@@ -1,8 +1,18 @@
 package fr.arthur.devoir_java.unit.controller;
 
 import fr.arthur.devoir_java.controller.UserController;
+import fr.arthur.devoir_java.dao.TicketDao;
 import fr.arthur.devoir_java.dao.UserDao;
+import fr.arthur.devoir_java.event.TicketBulkChangeEvent;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
 import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.security.UserCache;
+import fr.arthur.devoir_java.service.PseudoBloomFilter;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import fr.arthur.devoir_java.web.CollectionVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +21,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,6 +47,24 @@ class UserControllerUnitTest {
     @Mock
     private PasswordEncoder mockPasswordEncoder;
 
+    @Mock
+    private CollectionVersions mockCollectionVersions;
+
+    @Mock
+    private UserCache mockUserCache;
+
+    @Mock
+    private PseudoBloomFilter mockPseudoBloomFilter;
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    @Spy
+    private TicketChangeLog ticketChangeLog = new TicketChangeLog();
+
     @InjectMocks
     private UserController userController;
 
@@ -146,10 +176,11 @@ class UserControllerUnitTest {
     }
 
     @Test
-    @DisplayName("delete - Doit supprimer l'utilisateur quand ID existe")
+    @DisplayName("delete - Doit supprimer l'utilisateur et publier la suppression de chacun de ses tickets")
     void delete_ShouldDeleteUser_WhenIdExists() {
         // Given
         when(mockUserDao.findById(1)).thenReturn(Optional.of(testUser));
+        when(mockTicketDao.deleteUserWithTombstones(1, 1)).thenReturn(List.of(ticketView(10), ticketView(11)));
 
         // When
         ResponseEntity<?> response = userController.delete(1);
@@ -159,7 +190,17 @@ class UserControllerUnitTest {
         assertThat(response.getBody()).isNull();
 
         verify(mockUserDao).findById(1);
-        verify(mockUserDao).deleteById(1);
+        verify(mockUserDao, never()).deleteById(anyInt());
+        verify(mockUserCache).evict(testUser.getPseudo());
+
+        ArgumentCaptor<TicketChangeEvent> events = ArgumentCaptor.forClass(TicketChangeEvent.class);
+        verify(mockEventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).allSatisfy(event -> {
+            assertThat(event.getType()).isEqualTo(TicketChangeEvent.Type.DELETED);
+            assertThat(event.getAfter()).isNull();
+        });
+        assertThat(events.getAllValues()).extracting(event -> event.getBefore().getId()).containsExactly(10, 11);
+        assertThat(ticketChangeLog.watermark()).isEqualTo(1);
     }
 
     @Test
@@ -199,6 +240,11 @@ class UserControllerUnitTest {
 
         verify(mockUserDao).findById(1);
         verify(mockUserDao).save(userCaptor.capture());
+        verify(mockUserCache).evict(testUser.getPseudo());
+        verify(mockUserCache).evict("updateduser");
+        verify(mockPseudoBloomFilter).remove(testUser.getPseudo());
+        verify(mockPseudoBloomFilter).put("updateduser");
+        verify(mockTicketDao).touchByUser(1, 1);
 
         User savedUser = userCaptor.getValue();
         assertThat(savedUser.getId()).isEqualTo(1); // ID défini par la méthode
@@ -233,6 +279,49 @@ class UserControllerUnitTest {
         assertThat(savedUser.getPassword()).isEqualTo("ancienMotDePasse");
     }
 
+    @Test
+    @DisplayName("update - Doit faire relire les tickets de l'utilisateur renommé")
+    void update_ShouldTouchTicketsAndPublishBulkChange_WhenPseudoChanges() {
+        // Given
+        User renamed = new User();
+        renamed.setPseudo("renamed");
+        when(mockUserDao.findById(1)).thenReturn(Optional.of(testUser));
+        // Comme le merge JPA : l'utilisateur géré reçoit le nouveau pseudo
+        when(mockUserDao.save(renamed)).thenAnswer(invocation -> {
+            testUser.setPseudo(renamed.getPseudo());
+            return testUser;
+        });
+        when(mockTicketDao.touchByUser(1, 1)).thenReturn(3);
+
+        // When
+        userController.update(1, renamed);
+
+        // Then
+        verify(mockUserCache).evict("testuser");
+        verify(mockPseudoBloomFilter).remove("testuser");
+        ArgumentCaptor<TicketBulkChangeEvent> event = ArgumentCaptor.forClass(TicketBulkChangeEvent.class);
+        verify(mockEventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(TicketChangeEvent.Type.UPDATED);
+        assertThat(event.getValue().getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("update - Ne doit pas toucher aux tickets quand le pseudo ne change pas")
+    void update_ShouldNotTouchTickets_WhenPseudoUnchanged() {
+        // Given
+        User sameName = new User();
+        sameName.setPseudo(testUser.getPseudo());
+        sameName.setAdmin(true);
+        when(mockUserDao.findById(1)).thenReturn(Optional.of(testUser));
+
+        // When
+        userController.update(1, sameName);
+
+        // Then
+        verify(mockTicketDao, never()).touchByUser(anyInt(), anyLong());
+        verifyNoInteractions(mockEventPublisher);
+    }
+
     @Test
     @DisplayName("get - Doit gérer les ID négatifs")
     void get_ShouldHandleNegativeIds() {
@@ -279,4 +368,13 @@ class UserControllerUnitTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         verify(mockPasswordEncoder).encode("password");
     }
+
+    private TicketWithPseudoView ticketView(int id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setPriority(new Priority(1, "Haute"));
+        ticket.setSubmittingUser(testUser);
+        return TicketWithPseudoView.of(ticket);
+    }
 }
@@ -0,0 +1,90 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.dao.UserDao;
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.security.AppUserDetailsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du AppUserDetailsService")
+class AppUserDetailsServiceUnitTest {
+
+    @Mock
+    private UserDao mockUserDao;
+
+    @InjectMocks
+    private AppUserDetailsService appUserDetailsService;
+
+    private DelegatingPasswordEncoder passwordEncoder;
+
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(5);
+        passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsService(appUserDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(appUserDetailsService);
+    }
+
+    private User userWithHash(String hash) {
+        User user = new User();
+        user.setId(1);
+        user.setPseudo("admin");
+        user.setPassword(hash);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Doit réécrire à la connexion un hachage sans préfixe à un coût dépassé")
+    void authenticate_ShouldRehash_WhenStoredCostOutdated() {
+        // Given
+        when(mockUserDao.findByPseudo("admin"))
+                .thenReturn(Optional.of(userWithHash(new BCryptPasswordEncoder(4).encode("admin123"))));
+
+        // When
+        authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken("admin", "admin123"));
+
+        // Then
+        verify(mockUserDao).updatePassword(eq("admin"), argThat(hash ->
+                hash.startsWith("{bcrypt}$2a$05$") && passwordEncoder.matches("admin123", hash)));
+    }
+
+    @Test
+    @DisplayName("Ne doit pas réécrire un hachage déjà au coût actuel")
+    void authenticate_ShouldNotRehash_WhenStoredCostCurrent() {
+        // Given
+        when(mockUserDao.findByPseudo("admin"))
+                .thenReturn(Optional.of(userWithHash(passwordEncoder.encode("admin123"))));
+
+        // When
+        var authentication = authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken("admin", "admin123"));
+
+        // Then
+        assertThat(authentication.isAuthenticated()).isTrue();
+        verify(mockUserDao, never()).updatePassword(anyString(), anyString());
+    }
+}
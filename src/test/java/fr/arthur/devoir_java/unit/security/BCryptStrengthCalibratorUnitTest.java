@@ -0,0 +1,33 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.security.BCryptStrengthCalibrator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires du BCryptStrengthCalibrator")
+class BCryptStrengthCalibratorUnitTest {
+
+    @Test
+    @DisplayName("Doit garder le coût minimal quand la cible est inatteignable")
+    void calibrate_ShouldReturnMin_WhenTargetTooLow() {
+        // When
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4, 8);
+
+        // Then
+        assertThat(strength).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Doit plafonner au coût maximal quand la cible est large")
+    void calibrate_ShouldCapAtMax_WhenTargetGenerous() {
+        // When
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofSeconds(30), 4, 6);
+
+        // Then
+        assertThat(strength).isEqualTo(6);
+    }
+}
@@ -0,0 +1,135 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.security.AppUserDetails;
+import fr.arthur.devoir_java.security.JwtFilter;
+import fr.arthur.devoir_java.security.JwtUtils;
+import fr.arthur.devoir_java.security.UserCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du JwtFilter")
+class JwtFilterUnitTest {
+
+    @Mock
+    private UserCache mockUserCache;
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final JwtFilter jwtFilter = new JwtFilter(registry);
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "secretDeTestSuffisammentLongPourHS512_0123456789");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheTtl", Duration.ofMinutes(5));
+        jwtUtils.init();
+        ReflectionTestUtils.setField(jwtFilter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(jwtFilter, "userCache", mockUserCache);
+
+        testUser = new User();
+        testUser.setId(7);
+        testUser.setPseudo("admin");
+        testUser.setAdmin(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Doit émettre un jeton portant l'id, le rôle et l'expiration")
+    void generateToken_ShouldCarryClaims() {
+        // When
+        Claims claims = jwtUtils.extractClaims(jwtUtils.generateToken(new AppUserDetails(testUser)));
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo("admin");
+        assertThat(claims.get(JwtUtils.USER_ID_CLAIM, Integer.class)).isEqualTo(7);
+        assertThat(claims.get(JwtUtils.ADMIN_CLAIM, Boolean.class)).isTrue();
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+    }
+
+    @Test
+    @DisplayName("Doit authentifier depuis les claims sans lire l'utilisateur en mode sans état")
+    void doFilter_ShouldAuthenticateFromClaims_WhenStateless() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(jwtFilter, "stateless", true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ticket/list");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(new AppUserDetails(testUser)));
+
+        // When
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        AppUserDetails principal = (AppUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertThat(principal.getUser().getId()).isEqualTo(7);
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(mockUserCache);
+    }
+
+    @Test
+    @DisplayName("Doit relire l'utilisateur par le cache hors mode sans état")
+    void doFilter_ShouldUseUserCache_WhenStateful() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ticket/list");
+        request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(new AppUserDetails(testUser)));
+        when(mockUserCache.get("admin")).thenReturn(new AppUserDetails(testUser));
+
+        // When
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        verify(mockUserCache).get("admin");
+    }
+
+    @Test
+    @DisplayName("Doit chronométrer l'authentification selon son issue")
+    void doFilter_ShouldTimeAuthenticationByOutcome() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(jwtFilter, "stateless", true);
+        MockHttpServletRequest withToken = new MockHttpServletRequest("GET", "/api/ticket/list");
+        withToken.addHeader("Authorization", "Bearer " + jwtUtils.generateToken(new AppUserDetails(testUser)));
+        MockHttpServletRequest withoutToken = new MockHttpServletRequest("GET", "/api/ticket/list");
+        MockHttpServletRequest withBadToken = new MockHttpServletRequest("GET", "/api/ticket/list");
+        withBadToken.addHeader("Authorization", "Bearer pas.un.jeton");
+
+        // When
+        jwtFilter.doFilter(withToken, new MockHttpServletResponse(), new MockFilterChain());
+        jwtFilter.doFilter(withoutToken, new MockHttpServletResponse(), new MockFilterChain());
+        assertThatThrownBy(() -> jwtFilter.doFilter(withBadToken, new MockHttpServletResponse(), new MockFilterChain()))
+                .isInstanceOf(RuntimeException.class);
+
+        // Then
+        assertThat(registry.get("auth.jwt.filter").tag("outcome", "authenticated").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.jwt.filter").tag("outcome", "anonymous").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.jwt.filter").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.security.AppUserDetails;
+import fr.arthur.devoir_java.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests unitaires du JwtUtils")
+class JwtUtilsUnitTest {
+
+    private static final String SECRET = "secretDeTestSuffisammentLongPourHS512_0123456789";
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheTtl", Duration.ofMinutes(10));
+        jwtUtils.init();
+        jwtUtils.bindTo(registry);
+
+        testUser = new User();
+        testUser.setId(7);
+        testUser.setPseudo("admin");
+        testUser.setAdmin(true);
+    }
+
+    @Test
+    @DisplayName("Doit accepter les jetons signés avec l'ancienne clé texte")
+    void extractClaims_ShouldAcceptLegacySignedToken() {
+        // Given
+        String legacyToken = Jwts.builder()
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+
+        // When
+        String subject = jwtUtils.extractSubject(legacyToken);
+
+        // Then
+        assertThat(subject).isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("Doit servir un jeton déjà vérifié depuis le cache")
+    void extractClaims_ShouldHitCache_WhenTokenReused() {
+        // Given
+        String token = jwtUtils.generateToken(new AppUserDetails(testUser));
+
+        // When
+        Claims first = jwtUtils.extractClaims(token);
+        Claims second = jwtUtils.extractClaims(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(registry.get("cache.gets").tag("cache", "jwt-claims").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas mettre en cache un jeton à la signature invalide")
+    void extractClaims_ShouldRejectForgedToken() {
+        // Given
+        String forged = Jwts.builder()
+                .setSubject("admin")
+                .signWith(SignatureAlgorithm.HS512, "autreSecretSuffisammentLongPourHS512_9876543210")
+                .compact();
+
+        // When / Then
+        assertThatThrownBy(() -> jwtUtils.extractClaims(forged)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtUtils.extractClaims(forged)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("Doit rejeter un jeton expiré")
+    void extractClaims_ShouldRejectExpiredToken() {
+        // Given
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", Duration.ofMillis(-1000));
+        String expired = jwtUtils.generateToken(new AppUserDetails(testUser));
+
+        // When / Then
+        assertThatThrownBy(() -> jwtUtils.extractClaims(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
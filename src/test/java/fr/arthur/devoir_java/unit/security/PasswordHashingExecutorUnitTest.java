@@ -0,0 +1,96 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.security.PasswordHashingExecutor;
+import fr.arthur.devoir_java.security.PasswordHashingSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests unitaires du PasswordHashingExecutor")
+class PasswordHashingExecutorUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(3), registry);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Doit exécuter la tâche hors du thread appelant")
+    void submit_ShouldRunOnHashingThread() {
+        // When
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).join();
+
+        // Then
+        assertThat(threadName).startsWith("password-hashing-");
+        assertThat(registry.get("auth.password.hashing.queue.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit refuser avec le délai Retry-After quand le thread et la file sont pleins")
+    void submit_ShouldRejectWhenSaturated() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        started.await();
+        CompletableFuture<String> queued = executor.submit(() -> "en attente");
+
+        // When / Then
+        assertThatThrownBy(() -> executor.submit(() -> "refusé"))
+                .isInstanceOf(PasswordHashingSaturatedException.class)
+                .extracting(e -> ((PasswordHashingSaturatedException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(3));
+        assertThat(registry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.password.hashing.queue.size").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isTrue();
+        assertThat(queued.join()).isEqualTo("en attente");
+    }
+
+    @Test
+    @DisplayName("Doit passer par le pool depuis un thread virtuel de requête")
+    void call_ShouldUsePool_FromVirtualThread() throws Exception {
+        // When
+        String threadName;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            threadName = requests.submit(() -> executor.call(() -> Thread.currentThread().getName())).get();
+        }
+
+        // Then
+        assertThat(threadName).startsWith("password-hashing-");
+    }
+
+    @Test
+    @DisplayName("Doit exécuter la tâche sur place depuis un thread classique, qui attendrait de toute façon")
+    void call_ShouldRunInline_FromPlatformThread() {
+        // When
+        String threadName = executor.call(() -> Thread.currentThread().getName());
+
+        // Then
+        assertThat(threadName).isEqualTo(Thread.currentThread().getName());
+        assertThat(registry.get("auth.password.hashing.queue.wait").timer().count()).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.security.PasswordHashingExecutor;
+import fr.arthur.devoir_java.security.PasswordHashingSaturatedException;
+import fr.arthur.devoir_java.security.PooledPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests unitaires de l'encodeur sur le pool de hachage")
+class PooledPasswordEncoderUnitTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(2), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Doit vérifier et hacher sur le pool, mais décider de la réécriture sur le thread appelant")
+    void encoder_ShouldOnlyRunBCryptOnPool() throws Exception {
+        // Given
+        List<String> threads = new ArrayList<>();
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("motdepasse", "hash")).thenAnswer(invocation -> threads.add(Thread.currentThread().getName()));
+        when(delegate.encode("motdepasse")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.upgradeEncoding("hash")).thenAnswer(invocation -> threads.add(Thread.currentThread().getName()));
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(delegate, executor);
+
+        // When
+        boolean matches = onRequestThread(() -> encoder.matches("motdepasse", "hash"));
+        String hash = onRequestThread(() -> encoder.encode("motdepasse"));
+        onRequestThread(() -> encoder.upgradeEncoding("hash"));
+
+        // Then
+        assertThat(matches).isTrue();
+        assertThat(hash).startsWith("password-hashing-");
+        assertThat(threads).hasSize(2);
+        assertThat(threads.get(0)).startsWith("password-hashing-");
+        assertThat(threads.get(1)).startsWith("requete-");
+    }
+
+    @Test
+    @DisplayName("Doit remonter l'exception de la tâche telle quelle")
+    void matches_ShouldRethrowTaskException() throws Exception {
+        // Given
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("motdepasse", "hash")).thenThrow(new PasswordHashingSaturatedException(Duration.ofSeconds(2)));
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(delegate, executor);
+
+        // When / Then
+        onRequestThread(() -> assertThatThrownBy(() -> encoder.matches("motdepasse", "hash"))
+                .isInstanceOf(PasswordHashingSaturatedException.class));
+    }
+
+    // Les requêtes sont servies par des threads virtuels (spring.threads.virtual.enabled)
+    private static <T> T onRequestThread(Callable<T> task) throws Exception {
+        try (ExecutorService requests = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("requete-", 0).factory())) {
+            return requests.submit(task).get();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires du chronométrage BCrypt")
+class TimedPasswordEncoderUnitTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+
+    private final TimedPasswordEncoder encoder = new TimedPasswordEncoder(bcrypt, registry);
+
+    @Test
+    @DisplayName("Doit déléguer à BCrypt et mesurer hachages et vérifications séparément")
+    void encodeAndMatches_ShouldDelegateAndRecord() {
+        // When
+        String hash = encoder.encode("motdepasse");
+        boolean valid = encoder.matches("motdepasse", hash);
+        boolean invalid = encoder.matches("autre", hash);
+
+        // Then
+        assertThat(bcrypt.matches("motdepasse", hash)).isTrue();
+        assertThat(valid).isTrue();
+        assertThat(invalid).isFalse();
+        assertThat(registry.get("auth.password.bcrypt").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("auth.password.bcrypt").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit transmettre la demande de réécriture d'un hachage au coût insuffisant")
+    void upgradeEncoding_ShouldDelegate() {
+        // Given
+        String weakHash = new BCryptPasswordEncoder(4).encode("motdepasse");
+        TimedPasswordEncoder stronger = new TimedPasswordEncoder(new BCryptPasswordEncoder(5), registry);
+
+        // When / Then
+        assertThat(stronger.upgradeEncoding(weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(weakHash)).isFalse();
+    }
+}
@@ -0,0 +1,131 @@
+package fr.arthur.devoir_java.unit.security;
+
+import fr.arthur.devoir_java.config.VirtualThreadPinning;
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.security.AppUserDetails;
+import fr.arthur.devoir_java.security.UserCache;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du cache des utilisateurs authentifiés")
+class UserCacheUnitTest {
+
+    @Mock
+    private UserDetailsService mockUserDetailsService;
+
+
+    @Test
+    @DisplayName("Doit ne charger l'utilisateur qu'une fois jusqu'à son éviction")
+    void get_ShouldLoadOnceUntilEvicted() {
+        // Given
+        UserCache cache = cacheWithService();
+        User user = new User();
+        user.setPseudo("user");
+        when(mockUserDetailsService.loadUserByUsername("user")).thenReturn(new AppUserDetails(user));
+
+        // When
+        cache.get("user");
+        cache.get("user");
+        cache.evict("user");
+        cache.get("user");
+
+        // Then
+        verify(mockUserDetailsService, times(2)).loadUserByUsername("user");
+    }
+
+    @Test
+    @DisplayName("Doit propager un pseudo inconnu sans le mettre en cache")
+    void get_ShouldNotCacheUnknownPseudo() {
+        // Given
+        UserCache cache = cacheWithService();
+        when(mockUserDetailsService.loadUserByUsername("inconnu")).thenThrow(new UsernameNotFoundException("inconnu"));
+
+        // When / Then
+        assertThatThrownBy(() -> cache.get("inconnu")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cache.get("inconnu")).isInstanceOf(UsernameNotFoundException.class);
+        verify(mockUserDetailsService, times(2)).loadUserByUsername("inconnu");
+    }
+
+    @Test
+    @DisplayName("Ne doit pas remettre en cache un utilisateur lu avant une éviction survenue pendant le chargement")
+    void get_ShouldNotCacheStaleUser_WhenEvictedDuringLoad() throws Exception {
+        // Given
+        UserCache cache = cacheWithService();
+        User before = new User();
+        before.setPseudo("user");
+        before.setAdmin(true);
+        User after = new User();
+        after.setPseudo("user");
+        after.setAdmin(false);
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockUserDetailsService.loadUserByUsername("user"))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return new AppUserDetails(before);
+                })
+                .thenReturn(new AppUserDetails(after));
+
+        CompletableFuture<UserDetails> slowLoad = CompletableFuture.supplyAsync(() -> cache.get("user"));
+        loading.await(5, TimeUnit.SECONDS);
+
+        // When
+        cache.evict("user");
+        release.countDown();
+        slowLoad.join();
+        UserDetails next = cache.get("user");
+
+        // Then
+        assertThat(((AppUserDetails) next).getUser().isAdmin()).isFalse();
+        verify(mockUserDetailsService, times(2)).loadUserByUsername("user");
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Ne doit pas épingler le thread virtuel pendant le chargement de l'utilisateur")
+    void get_ShouldNotPinVirtualThread_WhileLoading() throws Exception {
+        // Given
+        UserCache cache = cacheWithService();
+        User user = new User();
+        user.setPseudo("user");
+        when(mockUserDetailsService.loadUserByUsername("user")).thenAnswer(invocation -> {
+            // Simule l'attente de la base
+            Thread.sleep(50);
+            return new AppUserDetails(user);
+        });
+
+        // When
+        List<RecordedEvent> pinned = VirtualThreadPinning.pinnedEvents(() -> cache.get("user"));
+
+        // Then
+        assertThat(pinned).isEmpty();
+    }
+
+    private UserCache cacheWithService() {
+        return new UserCache(mockUserDetailsService, 100, Duration.ofMinutes(5));
+    }
+}
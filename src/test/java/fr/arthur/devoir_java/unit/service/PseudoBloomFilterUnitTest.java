@@ -0,0 +1,91 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.dao.UserDao;
+import fr.arthur.devoir_java.service.PseudoBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du PseudoBloomFilter")
+class PseudoBloomFilterUnitTest {
+
+    @Mock
+    private UserDao mockUserDao;
+
+    @InjectMocks
+    private PseudoBloomFilter pseudoBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pseudoBloomFilter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(pseudoBloomFilter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(pseudoBloomFilter, "rebuildRatio", 0.5);
+    }
+
+    @Test
+    @DisplayName("Doit considérer tout pseudo comme possiblement pris avant le chargement")
+    void mightContain_ShouldBeTrue_BeforeRebuild() {
+        assertThat(pseudoBloomFilter.mightContain("inconnu")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Doit reconnaître les pseudos chargés et ajoutés, sans faux négatif")
+    void mightContain_ShouldFindLoadedAndPutPseudos() {
+        // Given
+        when(mockUserDao.findAllPseudos()).thenReturn(List.of("admin", "user"));
+        pseudoBloomFilter.rebuild();
+
+        // When
+        pseudoBloomFilter.put("nouveau");
+
+        // Then
+        assertThat(pseudoBloomFilter.mightContain("admin")).isTrue();
+        assertThat(pseudoBloomFilter.mightContain("user")).isTrue();
+        assertThat(pseudoBloomFilter.mightContain("nouveau")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Doit écarter la grande majorité des pseudos absents")
+    void mightContain_ShouldKeepFalsePositivesLow() {
+        // Given
+        when(mockUserDao.findAllPseudos()).thenReturn(IntStream.range(0, 1000).mapToObj(i -> "pris" + i).toList());
+        pseudoBloomFilter.rebuild();
+
+        // When
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> pseudoBloomFilter.mightContain("libre" + i))
+                .count();
+
+        // Then
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Doit se reconstruire depuis la base quand les suppressions s'accumulent")
+    void remove_ShouldRebuild_WhenTooManyRemovals() {
+        // Given
+        when(mockUserDao.findAllPseudos()).thenReturn(List.of("admin", "user"), List.of("admin"));
+        pseudoBloomFilter.rebuild();
+
+        // When
+        pseudoBloomFilter.remove("user");
+        pseudoBloomFilter.remove("user");
+
+        // Then
+        verify(mockUserDao, times(2)).findAllPseudos();
+    }
+}
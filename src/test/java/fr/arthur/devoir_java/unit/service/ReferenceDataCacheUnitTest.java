@@ -0,0 +1,94 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.config.VirtualThreadPinning;
+import fr.arthur.devoir_java.dao.CategoryDao;
+import fr.arthur.devoir_java.dao.PriorityDao;
+import fr.arthur.devoir_java.model.Category;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.service.ReferenceDataCache;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du cache des données de référence")
+class ReferenceDataCacheUnitTest {
+
+    @Mock
+    private PriorityDao mockPriorityDao;
+
+    @Mock
+    private CategoryDao mockCategoryDao;
+
+    @InjectMocks
+    private ReferenceDataCache cache;
+
+    @Test
+    @DisplayName("Doit servir les lectures depuis la mémoire après un seul chargement")
+    void find_ShouldHitDatabaseOnce() {
+        // Given
+        when(mockPriorityDao.findAll()).thenReturn(List.of(new Priority(1, "Haute"), new Priority(2, "Basse")));
+        when(mockCategoryDao.findAll()).thenReturn(List.of(new Category(3, "Réseau")));
+
+        // When
+        cache.refresh();
+
+        // Then
+        assertThat(cache.findPriority(2)).map(Priority::getName).contains("Basse");
+        assertThat(cache.findPriority(9)).isEmpty();
+        assertThat(cache.findCategoriesById(List.of(3, 4, 3))).extracting(Category::getName).containsExactly("Réseau");
+        assertThat(cache.getPriorities()).extracting(Priority::getId).containsExactly(1, 2);
+        verify(mockPriorityDao, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Doit remplacer uniquement les priorités lors de leur rechargement")
+    void refreshPriorities_ShouldKeepCategories() {
+        // Given
+        when(mockPriorityDao.findAll())
+                .thenReturn(List.of(new Priority(1, "Haute")))
+                .thenReturn(List.of(new Priority(1, "Urgente")));
+        when(mockCategoryDao.findAll()).thenReturn(List.of(new Category(3, "Réseau")));
+        cache.refresh();
+
+        // When
+        cache.refreshPriorities();
+
+        // Then
+        assertThat(cache.findPriority(1)).map(Priority::getName).contains("Urgente");
+        assertThat(cache.findCategory(3)).isPresent();
+        verify(mockCategoryDao, times(1)).findAll();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Ne doit pas épingler le thread virtuel pendant le rechargement")
+    void refresh_ShouldNotPinVirtualThread() throws Exception {
+        // Given
+        when(mockPriorityDao.findAll()).thenAnswer(invocation -> {
+            // Simule l'attente de la base
+            Thread.sleep(50);
+            return List.of(new Priority(1, "Haute"));
+        });
+        when(mockCategoryDao.findAll()).thenReturn(List.of());
+
+        // When
+        List<RecordedEvent> pinned = VirtualThreadPinning.pinnedEvents(cache::refresh);
+
+        // Then
+        assertThat(pinned).isEmpty();
+        assertThat(cache.findPriority(1)).isPresent();
+    }
+}
@@ -0,0 +1,154 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.dao.TicketTombstoneDao;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.TicketTombstone;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.view.ChangeCursor;
+import fr.arthur.devoir_java.view.TicketChangeRowView;
+import fr.arthur.devoir_java.view.TicketChangesView;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires du journal des modifications de tickets")
+class TicketChangeLogUnitTest {
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @Mock
+    private TicketTombstoneDao mockTombstoneDao;
+
+    @InjectMocks
+    private TicketChangeLog changeLog;
+
+    @Test
+    @DisplayName("Doit reprendre après la plus grande séquence en base")
+    void init_ShouldContinueAfterPersistedSequence() {
+        // Given
+        when(mockTicketDao.findMaxChangeSeq()).thenReturn(40L);
+        when(mockTombstoneDao.findMaxChangeSeq()).thenReturn(42L);
+
+        // When
+        changeLog.init();
+        long changeSeq = changeLog.write(seq -> seq);
+
+        // Then
+        assertThat(changeSeq).isEqualTo(43);
+        assertThat(changeLog.watermark()).isEqualTo(43);
+    }
+
+    @Test
+    @DisplayName("Doit arrêter le filigrane avant une écriture encore en cours")
+    void watermark_ShouldStopBeforeWriteInFlight() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> changeLog.write(seq -> {
+            started.countDown();
+            await(release);
+            return seq;
+        }));
+        started.await();
+
+        // When
+        long fast = changeLog.write(seq -> seq);
+        long duringSlowWrite = changeLog.watermark();
+        release.countDown();
+        slow.join();
+
+        // Then
+        assertThat(fast).isEqualTo(2);
+        assertThat(duringSlowWrite).isZero();
+        assertThat(changeLog.watermark()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Doit fusionner tickets et pierres tombales dans l'ordre (séquence, id) et paginer")
+    void changesSince_ShouldMergeInKeysetOrder() {
+        // Given
+        changeLog.write(seq -> seq);
+        changeLog.write(seq -> seq);
+        changeLog.write(seq -> seq);
+        when(mockTicketDao.findChangesAfter(0, 0, 3, Limit.of(3)))
+                .thenReturn(List.of(row(1001, 1), row(1003, 2), row(1000, 3)));
+        when(mockTombstoneDao.findChangesAfter(0, 0, 3, Limit.of(3)))
+                .thenReturn(List.of(new TicketTombstone(1002, 2)));
+        when(mockTicketDao.findViewsByIdIn(List.of(1001))).thenReturn(List.of(view(1001)));
+
+        // When
+        TicketChangesView changes = changeLog.changesSince(ChangeCursor.start(), 2);
+
+        // Then
+        assertThat(changes.getTickets()).extracting(TicketView::getId).containsExactly(1001);
+        assertThat(changes.getDeleted()).containsExactly(1002);
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(changes.getNext()).isEqualTo("2:1002");
+    }
+
+    @Test
+    @DisplayName("Doit renvoyer le filigrane comme position quand le client est à jour")
+    void changesSince_ShouldReturnWatermark_WhenUpToDate() {
+        // Given
+        changeLog.write(seq -> seq);
+        changeLog.write(seq -> seq);
+
+        // When
+        TicketChangesView changes = changeLog.changesSince(ChangeCursor.after(1), 100);
+
+        // Then
+        assertThat(changes.getTickets()).isEmpty();
+        assertThat(changes.getDeleted()).isEmpty();
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(changes.getNext()).isEqualTo("2");
+        verify(mockTicketDao, never()).findViewsByIdIn(any());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TicketChangeRowView row(int id, long changeSeq) {
+        return new TicketChangeRowView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public long getChangeSeq() {
+                return changeSeq;
+            }
+        };
+    }
+
+    private static TicketWithPseudoView view(int id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setPriority(new Priority(1, "Haute"));
+        return TicketWithPseudoView.of(ticket);
+    }
+}
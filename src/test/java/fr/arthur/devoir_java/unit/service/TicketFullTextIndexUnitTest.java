@@ -0,0 +1,143 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.service.TicketFullTextIndex;
+import fr.arthur.devoir_java.view.TicketTextView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires de l'index plein texte des tickets")
+class TicketFullTextIndexUnitTest {
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @InjectMocks
+    private TicketFullTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index.onTicketChange(TicketChangeEvent.created(view(1, "Serveur principal en panne",
+                "Le serveur ne répond plus depuis ce matin.")));
+        index.onTicketChange(TicketChangeEvent.created(view(2, "Problème de connexion WiFi",
+                "Impossible de se connecter au réseau du serveur.")));
+        index.onTicketChange(TicketChangeEvent.created(view(3, "Changement mot de passe",
+                "Réinitialisation du mot de passe.")));
+    }
+
+    @Test
+    @DisplayName("Doit classer en premier le ticket dont le titre contient le terme")
+    void search_ShouldRankTitleMatchesFirst() {
+        assertThat(index.search("serveur", 10)).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Doit ignorer la casse et les accents")
+    void search_ShouldIgnoreCaseAndAccents() {
+        assertThat(index.search("RESEAU", 10)).containsExactly(2);
+        assertThat(index.search("réinitialisation", 10)).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Doit traiter le dernier mot comme un préfixe")
+    void search_ShouldMatchPrefixOfLastTerm() {
+        assertThat(index.search("connex", 10)).containsExactly(2);
+        assertThat(index.search("mot pass", 10)).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Doit suivre les mises à jour et les suppressions")
+    void onTicketChange_ShouldUpdateAndRemoveTickets() {
+        // When
+        index.onTicketChange(TicketChangeEvent.updated(view(1, "Serveur principal en panne", ""),
+                view(1, "Imprimante en panne", "")));
+        index.onTicketChange(TicketChangeEvent.deleted(view(2, "Problème de connexion WiFi", "")));
+
+        // Then
+        assertThat(index.search("serveur", 10)).isEmpty();
+        assertThat(index.search("imprimante", 10)).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Doit rechercher dans l'ancien index pendant une reconstruction et conserver les événements reçus entre-temps")
+    void rebuild_ShouldKeepServingAndKeepConcurrentEvents() throws Exception {
+        // Given
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockTicketDao.findAllTextViews()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(text(1, "Serveur principal en panne"), text(2, "Problème de connexion WiFi"));
+        });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(index::rebuild);
+        reading.await(5, TimeUnit.SECONDS);
+
+        // When
+        List<Integer> duringRebuild = index.search("mot passe", 10);
+        Thread creator = Thread.ofVirtual().start(() -> index.onTicketChange(
+                TicketChangeEvent.created(view(4, "Imprimante en panne", ""))));
+        waitUntilBlocked(creator);
+        release.countDown();
+        rebuild.join();
+        creator.join();
+
+        // Then
+        assertThat(duringRebuild).containsExactly(3);
+        assertThat(index.search("panne", 10)).containsExactlyInAnyOrder(1, 4);
+        assertThat(index.search("mot passe", 10)).isEmpty();
+    }
+
+    private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static TicketTextView text(int id, String title) {
+        return new TicketTextView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return "";
+            }
+        };
+    }
+
+    private static TicketWithPseudoView view(int id, String title, String description) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle(title);
+        ticket.setDescription(description);
+        ticket.setPriority(new Priority(1, "Haute"));
+        return TicketWithPseudoView.of(ticket);
+    }
+}
@@ -0,0 +1,218 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.service.TicketChangeLog;
+import fr.arthur.devoir_java.service.TicketIngestionQueue;
+import fr.arthur.devoir_java.view.TicketIngestionView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires de la file de création différée des tickets")
+class TicketIngestionQueueUnitTest {
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AtomicInteger nextId = new AtomicInteger(1000);
+
+    // Flusher non démarré : les lots sont vidés explicitement par le test
+    private TicketIngestionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new TicketIngestionQueue(2, 10, Duration.ofMillis(50), Duration.ofMinutes(5), registry);
+        ReflectionTestUtils.setField(queue, "ticketDao", mockTicketDao);
+        ReflectionTestUtils.setField(queue, "eventPublisher", mockEventPublisher);
+        ReflectionTestUtils.setField(queue, "ticketChangeLog", new TicketChangeLog());
+        ReflectionTestUtils.setField(queue, "running", true);
+        lenient().when(mockTicketDao.allocateId()).thenAnswer(invocation -> nextId.getAndIncrement());
+    }
+
+    private Ticket ticket(String title) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setPriority(new Priority(1, "Haute"));
+        return ticket;
+    }
+
+    @Test
+    @DisplayName("Doit refuser quand la file est pleine")
+    void submit_ShouldReject_WhenQueueFull() {
+        // When
+        Optional<TicketIngestionView> first = queue.submit(ticket("Alerte 1"));
+        Optional<TicketIngestionView> second = queue.submit(ticket("Alerte 2"));
+        Optional<TicketIngestionView> third = queue.submit(ticket("Alerte 3"));
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(queue.status(first.get().getReceipt())).get()
+                .extracting(TicketIngestionView::getStatus).isEqualTo(TicketIngestionView.Status.PENDING);
+        assertThat(second).isPresent();
+        assertThat(third).isEmpty();
+        assertThat(registry.get("tickets.ingestion.rejected").counter().count()).isEqualTo(1);
+        verify(mockTicketDao, times(2)).allocateId();
+    }
+
+    @Test
+    @DisplayName("Doit attribuer l'id du ticket dès le dépôt, avant l'insertion")
+    void submit_ShouldAssignIdFromSequence() {
+        // Given
+        Ticket ticket = ticket("Alerte 1");
+
+        // When
+        TicketIngestionView pending = queue.submit(ticket).orElseThrow();
+
+        // Then
+        assertThat(ticket.getId()).isEqualTo(1000);
+        assertThat(pending.getTicketId()).isEqualTo(1000);
+        assertThat(pending.getStatus()).isEqualTo(TicketIngestionView.Status.PENDING);
+        verify(mockTicketDao, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Doit insérer la file en un seul lot et publier la création de chaque ticket")
+    void flush_ShouldSaveBatchInOneCall() throws Exception {
+        // Given
+        UUID first = queue.submit(ticket("Alerte 1")).orElseThrow().getReceipt();
+        UUID second = queue.submit(ticket("Alerte 2")).orElseThrow().getReceipt();
+        when(mockTicketDao.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        int flushed = queue.flush(0);
+
+        // Then
+        assertThat(flushed).isEqualTo(2);
+        verify(mockTicketDao, times(1)).saveAll(anyList());
+        verify(mockEventPublisher, times(2)).publishEvent(any(TicketChangeEvent.class));
+        assertThat(queue.status(first)).get().extracting(TicketIngestionView::getTicketId).isEqualTo(1000);
+        assertThat(queue.status(second)).get().extracting(TicketIngestionView::getStatus)
+                .isEqualTo(TicketIngestionView.Status.CREATED);
+    }
+
+    @Test
+    @DisplayName("Doit isoler le ticket fautif quand le lot échoue")
+    void flush_ShouldFallBackToSingleInserts_WhenBatchFails() throws Exception {
+        // Given
+        Ticket valid = ticket("Alerte valide");
+        Ticket invalid = ticket("Alerte invalide");
+        UUID validReceipt = queue.submit(valid).orElseThrow().getReceipt();
+        UUID invalidReceipt = queue.submit(invalid).orElseThrow().getReceipt();
+        when(mockTicketDao.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("lot"));
+        when(mockTicketDao.save(valid)).thenReturn(valid);
+        when(mockTicketDao.save(invalid)).thenThrow(new DataIntegrityViolationException("ticket"));
+
+        // When
+        queue.flush(0);
+
+        // Then
+        assertThat(queue.status(validReceipt)).get().extracting(TicketIngestionView::getStatus)
+                .isEqualTo(TicketIngestionView.Status.CREATED);
+        assertThat(queue.status(validReceipt)).get().extracting(TicketIngestionView::getTicketId).isEqualTo(1000);
+        assertThat(queue.status(invalidReceipt)).get().extracting(TicketIngestionView::getStatus)
+                .isEqualTo(TicketIngestionView.Status.FAILED);
+        verify(mockEventPublisher, times(1)).publishEvent(any(TicketChangeEvent.class));
+        assertThat(registry.get("tickets.ingestion.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Doit compter une erreur inattendue et continuer avec les lots suivants")
+    void run_ShouldCountFailureAndKeepFlushing() throws Exception {
+        // Given
+        when(mockTicketDao.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("écouteur"))
+                .doNothing()
+                .when(mockEventPublisher).publishEvent(any(TicketChangeEvent.class));
+        queue.start();
+
+        // When
+        UUID first = queue.submit(ticket("Alerte 1")).orElseThrow().getReceipt();
+        waitForStatus(first, TicketIngestionView.Status.CREATED);
+        UUID second = queue.submit(ticket("Alerte 2")).orElseThrow().getReceipt();
+        waitForStatus(second, TicketIngestionView.Status.CREATED);
+        queue.stop();
+
+        // Then
+        assertThat(registry.get("tickets.ingestion.failed").counter().count()).isEqualTo(1);
+        verify(mockTicketDao, never()).save(any(Ticket.class));
+    }
+
+    private void waitForStatus(UUID receipt, TicketIngestionView.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.status(receipt).map(TicketIngestionView::getStatus).orElse(null) != status
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queue.status(receipt)).get().extracting(TicketIngestionView::getStatus).isEqualTo(status);
+    }
+
+    @Test
+    @DisplayName("Doit laisser le lot en cours se terminer à l'arrêt, vider la file puis refuser les dépôts")
+    void stop_ShouldFinishCurrentBatchAndDrainQueue() throws Exception {
+        // Given
+        queue.start();
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockTicketDao.saveAll(anyList())).thenAnswer(invocation -> {
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        UUID first = queue.submit(ticket("Alerte 1")).orElseThrow().getReceipt();
+        inserting.await(5, TimeUnit.SECONDS);
+        UUID second = queue.submit(ticket("Alerte 2")).orElseThrow().getReceipt();
+
+        // When
+        CompletableFuture<Void> stopping = CompletableFuture.runAsync(() -> {
+            try {
+                queue.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        while (Boolean.TRUE.equals(ReflectionTestUtils.getField(queue, "running"))) {
+            Thread.onSpinWait();
+        }
+        Optional<TicketIngestionView> late = queue.submit(ticket("Alerte 3"));
+        release.countDown();
+        stopping.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(late).isEmpty();
+        assertThat(queue.status(first)).get().extracting(TicketIngestionView::getStatus)
+                .isEqualTo(TicketIngestionView.Status.CREATED);
+        assertThat(queue.status(second)).get().extracting(TicketIngestionView::getStatus)
+                .isEqualTo(TicketIngestionView.Status.CREATED);
+        verify(mockTicketDao, times(2)).saveAll(anyList());
+        verify(mockTicketDao, never()).save(any(Ticket.class));
+    }
+}
@@ -0,0 +1,159 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Category;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.service.TicketStatistics;
+import fr.arthur.devoir_java.view.TicketCountView;
+import fr.arthur.devoir_java.view.TicketGroupCountView;
+import fr.arthur.devoir_java.view.TicketStatsView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires des statistiques de tickets")
+class TicketStatisticsUnitTest {
+
+    private final Priority high = new Priority(1, "Haute");
+    private final Priority low = new Priority(2, "Basse");
+    private final Category network = new Category(3, "Réseau");
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @InjectMocks
+    private TicketStatistics statistics;
+
+    @Test
+    @DisplayName("Doit compter les tickets créés par priorité, catégorie et utilisateur")
+    void onTicketChange_ShouldCountCreatedTickets() {
+        // When
+        statistics.onTicketChange(TicketChangeEvent.created(view(1, high, false)));
+        statistics.onTicketChange(TicketChangeEvent.created(view(2, low, false)));
+
+        // Then
+        TicketStatsView stats = statistics.snapshot();
+        assertThat(stats.getTotal().getOpen()).isEqualTo(2);
+        assertThat(stats.getByPriority()).extracting(TicketCountView::getLabel).containsExactly("Haute", "Basse");
+        assertThat(stats.getByCategory().get(0).getOpen()).isEqualTo(2);
+        assertThat(stats.getBySubmittingUser().get(0).getLabel()).isEqualTo("user");
+    }
+
+    @Test
+    @DisplayName("Doit déplacer les compteurs lors d'une résolution, d'un changement de priorité et d'une suppression")
+    void onTicketChange_ShouldMoveCountersOnUpdates() {
+        // Given
+        statistics.onTicketChange(TicketChangeEvent.created(view(1, high, false)));
+        statistics.onTicketChange(TicketChangeEvent.created(view(2, high, false)));
+
+        // When
+        statistics.onTicketChange(TicketChangeEvent.resolved(view(1, high, false), view(1, high, true)));
+        statistics.onTicketChange(TicketChangeEvent.updated(view(2, high, false), view(2, low, false)));
+        statistics.onTicketChange(TicketChangeEvent.deleted(view(2, low, false)));
+
+        // Then
+        TicketStatsView stats = statistics.snapshot();
+        assertThat(stats.getTotal().getOpen()).isZero();
+        assertThat(stats.getTotal().getResolved()).isEqualTo(1);
+        assertThat(stats.getByPriority()).hasSize(1);
+        assertThat(stats.getByPriority().get(0).getResolved()).isEqualTo(1);
+        assertThat(stats.getByCategory().get(0).getOpen()).isZero();
+    }
+
+    @Test
+    @DisplayName("Doit servir les anciens compteurs pendant une reconstruction puis appliquer les événements reçus entre-temps")
+    void rebuild_ShouldSwapCountersAndApplyConcurrentEventsOnce() throws Exception {
+        // Given
+        statistics.onTicketChange(TicketChangeEvent.created(view(1, high, false)));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockTicketDao.countGroupByPriority()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(row(1, "Haute", false, 5));
+        });
+        when(mockTicketDao.countGroupByCategory()).thenReturn(List.of(row(3, "Réseau", false, 5)));
+        when(mockTicketDao.countGroupBySubmittingUser()).thenReturn(List.of(row(7, "user", false, 5)));
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(statistics::rebuild);
+        reading.await(5, TimeUnit.SECONDS);
+
+        // When
+        TicketStatsView duringRebuild = statistics.snapshot();
+        Thread creator = Thread.ofVirtual().start(() -> statistics.onTicketChange(TicketChangeEvent.created(view(6, high, false))));
+        waitUntilBlocked(creator);
+        release.countDown();
+        rebuild.join();
+        creator.join();
+
+        // Then
+        assertThat(duringRebuild.getTotal().getOpen()).isEqualTo(1);
+        TicketStatsView stats = statistics.snapshot();
+        assertThat(stats.getTotal().getOpen()).isEqualTo(6);
+        assertThat(stats.getByPriority().get(0).getOpen()).isEqualTo(6);
+        assertThat(stats.getByCategory().get(0).getOpen()).isEqualTo(6);
+        assertThat(stats.getBySubmittingUser().get(0).getOpen()).isEqualTo(6);
+    }
+
+    private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static TicketGroupCountView row(int id, String label, boolean resolved, long total) {
+        return new TicketGroupCountView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getLabel() {
+                return label;
+            }
+
+            @Override
+            public Boolean getResolved() {
+                return resolved;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private TicketWithPseudoView view(int id, Priority priority, boolean resolved) {
+        User user = new User();
+        user.setId(7);
+        user.setPseudo("user");
+
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setResolved(resolved);
+        ticket.setPriority(priority);
+        ticket.setCategories(List.of(network));
+        ticket.setSubmittingUser(user);
+        return TicketWithPseudoView.of(ticket);
+    }
+}
@@ -0,0 +1,143 @@
+package fr.arthur.devoir_java.unit.service;
+
+import fr.arthur.devoir_java.dao.TicketDao;
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.model.User;
+import fr.arthur.devoir_java.service.UnresolvedTicketFeed;
+import fr.arthur.devoir_java.view.TicketView;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires de la vue des tickets non résolus")
+class UnresolvedTicketFeedUnitTest {
+
+    @Mock
+    private TicketDao mockTicketDao;
+
+    @InjectMocks
+    private UnresolvedTicketFeed feed;
+
+    @Test
+    @DisplayName("Doit charger les tickets non résolus sans exposer les utilisateurs")
+    void rebuild_ShouldLoadUnresolvedTicketsWithoutUsers() {
+        // Given
+        when(mockTicketDao.findUnresolvedViews()).thenReturn(List.of(view(1, false), view(2, false)));
+
+        // When
+        feed.rebuild();
+
+        // Then
+        assertThat(feed.findAll()).extracting(TicketView::getId).containsExactly(1, 2);
+        assertThat(feed.findAll()).allMatch(ticket -> ticket.getClass() == TicketView.class);
+    }
+
+    @Test
+    @DisplayName("Doit suivre les créations, résolutions et suppressions")
+    void onTicketChange_ShouldKeepOnlyUnresolvedTickets() {
+        // Given
+        feed.onTicketChange(TicketChangeEvent.created(view(3, false)));
+        feed.onTicketChange(TicketChangeEvent.created(view(1, false)));
+        feed.onTicketChange(TicketChangeEvent.created(view(2, false)));
+        List<TicketView> before = feed.findAll();
+
+        // When
+        feed.onTicketChange(TicketChangeEvent.resolved(view(1, false), view(1, true)));
+        feed.onTicketChange(TicketChangeEvent.deleted(view(2, false)));
+
+        // Then
+        assertThat(before).extracting(TicketView::getId).containsExactly(1, 2, 3);
+        assertThat(feed.findAll()).extracting(TicketView::getId).containsExactly(3);
+        assertThat(feed.findById(1)).isEmpty();
+        assertThat(feed.findById(3)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Doit ignorer une modification publiée après une résolution plus récente")
+    void onTicketChange_ShouldIgnoreOutOfOrderEvents() {
+        // Given
+        feed.onTicketChange(TicketChangeEvent.created(view(1, false, 0L)));
+        feed.onTicketChange(TicketChangeEvent.created(view(2, false, 0L)));
+        feed.onTicketChange(TicketChangeEvent.resolved(view(1, false, 1L), view(1, true, 2L)));
+        feed.onTicketChange(TicketChangeEvent.updated(view(2, false, 0L), view(2, false, 2L)));
+
+        // When
+        feed.onTicketChange(TicketChangeEvent.updated(view(1, false, 0L), view(1, false, 1L)));
+        feed.onTicketChange(TicketChangeEvent.updated(view(2, false, 0L), view(2, false, 1L)));
+
+        // Then
+        assertThat(feed.findById(1)).isEmpty();
+        assertThat(feed.findById(2)).get().extracting(TicketView::getVersion).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Doit servir l'ancienne vue pendant une reconstruction et conserver les événements reçus entre-temps")
+    void rebuild_ShouldSwapAtomicallyAndKeepConcurrentEvents() throws Exception {
+        // Given
+        feed.onTicketChange(TicketChangeEvent.created(view(1, false, 0L)));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockTicketDao.findUnresolvedViews()).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(view(1, false, 0L), view(2, false, 0L));
+        });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(feed::rebuild);
+        reading.await(5, TimeUnit.SECONDS);
+
+        // When
+        List<TicketView> duringRebuild = feed.findAll();
+        Thread creator = Thread.ofVirtual().start(() -> feed.onTicketChange(TicketChangeEvent.created(view(3, false, 0L))));
+        waitUntilBlocked(creator);
+        release.countDown();
+        rebuild.join();
+        creator.join();
+
+        // Then
+        assertThat(duringRebuild).extracting(TicketView::getId).containsExactly(1);
+        assertThat(feed.findAll()).extracting(TicketView::getId).containsExactly(1, 2, 3);
+    }
+
+    private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static TicketWithPseudoView view(int id, boolean resolved, Long version) {
+        TicketWithPseudoView view = view(id, resolved);
+        view.setVersion(version);
+        return view;
+    }
+
+    private static TicketWithPseudoView view(int id, boolean resolved) {
+        User user = new User();
+        user.setId(1);
+        user.setPseudo("user");
+
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        ticket.setResolved(resolved);
+        ticket.setPriority(new Priority(1, "Haute"));
+        ticket.setSubmittingUser(user);
+        return TicketWithPseudoView.of(ticket);
+    }
+}
@@ -0,0 +1,105 @@
+package fr.arthur.devoir_java.unit.web;
+
+import fr.arthur.devoir_java.controller.PriorityController;
+import fr.arthur.devoir_java.web.CollectionVersions;
+import fr.arthur.devoir_java.web.ETagInterceptor;
+import fr.arthur.devoir_java.web.VersionedCollection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires de l'ETagInterceptor")
+class ETagInterceptorUnitTest {
+
+    @Spy
+    private CollectionVersions collectionVersions = new CollectionVersions();
+
+    @InjectMocks
+    private ETagInterceptor interceptor;
+
+    private HandlerMethod listPriorities;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        listPriorities = new HandlerMethod(new PriorityController(), PriorityController.class.getMethod("getAllPriorities"));
+    }
+
+    @Test
+    @DisplayName("Doit retenir l'ETag sans le poser et laisser passer un premier appel")
+    void preHandle_ShouldKeepETagForResponse_WhenNoIfNoneMatch() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priority/list");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, listPriorities);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(request.getAttribute(ETagInterceptor.ETAG_ATTRIBUTE))
+                .isEqualTo(collectionVersions.etag(VersionedCollection.PRIORITIES));
+    }
+
+    @Test
+    @DisplayName("Doit répondre 304 sans appeler le contrôleur quand la version n'a pas changé")
+    void preHandle_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priority/list");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, collectionVersions.etag(VersionedCollection.PRIORITIES));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, listPriorities);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(collectionVersions.etag(VersionedCollection.PRIORITIES));
+    }
+
+    @Test
+    @DisplayName("Doit reconnaître l'ETag dans une liste ou sous sa forme faible")
+    void preHandle_ShouldReturnNotModified_WhenETagListedOrWeak() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priority/list");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"ancien\", W/" + collectionVersions.etag(VersionedCollection.PRIORITIES));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, listPriorities);
+
+        // Then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    @DisplayName("Doit laisser passer l'appel quand la collection a été modifiée")
+    void preHandle_ShouldProceed_WhenCollectionBumped() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/priority/list");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, collectionVersions.etag(VersionedCollection.PRIORITIES));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        collectionVersions.bump(VersionedCollection.PRIORITIES);
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, listPriorities);
+
+        // Then
+        assertThat(proceed).isTrue();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+}
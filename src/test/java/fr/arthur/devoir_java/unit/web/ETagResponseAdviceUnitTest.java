@@ -0,0 +1,84 @@
+package fr.arthur.devoir_java.unit.web;
+
+import fr.arthur.devoir_java.controller.PriorityController;
+import fr.arthur.devoir_java.model.Priority;
+import fr.arthur.devoir_java.web.ETagInterceptor;
+import fr.arthur.devoir_java.web.ETagResponseAdvice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires de l'ETagResponseAdvice")
+class ETagResponseAdviceUnitTest {
+
+    private static final String ETAG = "\"priorities-1-0\"";
+
+    private final ETagResponseAdvice advice = new ETagResponseAdvice();
+
+    private MethodParameter getPriorityById;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        getPriorityById = new MethodParameter(PriorityController.class.getMethod("getPriorityById", int.class), -1);
+        request = new MockHttpServletRequest("GET", "/api/priority/1");
+        request.setAttribute(ETagInterceptor.ETAG_ATTRIBUTE, ETAG);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Doit poser l'ETag retenu sur une réponse 2xx")
+    void beforeBodyWrite_ShouldSetETag_WhenSuccessful() throws Exception {
+        // When
+        write(new Priority(1, "Haute"));
+
+        // Then
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("Ne doit pas poser l'ETag sur une réponse d'erreur")
+    void beforeBodyWrite_ShouldNotSetETag_WhenNotFound() throws Exception {
+        // Given
+        response.setStatus(HttpStatus.NOT_FOUND.value());
+
+        // When
+        write(null);
+
+        // Then
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    @DisplayName("Ne doit s'appliquer qu'aux GET conditionnels")
+    void supports_ShouldOnlyMatchConditionalGet() throws Exception {
+        MethodParameter delete = new MethodParameter(PriorityController.class.getMethod("delete", int.class), -1);
+
+        assertThat(advice.supports(getPriorityById, MappingJackson2HttpMessageConverter.class)).isTrue();
+        assertThat(advice.supports(delete, MappingJackson2HttpMessageConverter.class)).isFalse();
+    }
+
+    private void write(Object body) throws IOException {
+        ServletServerHttpResponse outputMessage = new ServletServerHttpResponse(response);
+        advice.beforeBodyWrite(body, getPriorityById, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), outputMessage);
+        // Les en-têtes sont écrits sur la réponse servlet avec le corps
+        outputMessage.flush();
+    }
+}
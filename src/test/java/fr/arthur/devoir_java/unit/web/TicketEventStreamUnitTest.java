@@ -0,0 +1,275 @@
+package fr.arthur.devoir_java.unit.web;
+
+import fr.arthur.devoir_java.event.TicketChangeEvent;
+import fr.arthur.devoir_java.model.Ticket;
+import fr.arthur.devoir_java.view.TicketWithPseudoView;
+import fr.arthur.devoir_java.web.TicketEventStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires du flux SSE des tickets")
+class TicketEventStreamUnitTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final List<SseEmitter> emitters = new ArrayList<>();
+
+    private TicketEventStream stream;
+
+    // Émetteur de test : enregistre le texte envoyé, et peut bloquer comme un client lent
+    static class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+        final CountDownLatch release;
+
+        volatile boolean completed;
+
+        RecordingEmitter(boolean slow) {
+            release = new CountDownLatch(slow ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData() instanceof String value ? value : "<data>"));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("événement attendu").isNotNull();
+            return event;
+        }
+    }
+
+    // Comme SseEmitter : send et complete partagent le moniteur de l'émetteur, et une écriture socket
+    // bloquée ne répond pas à l'interruption
+    static class StuckEmitter extends SseEmitter {
+
+        final CountDownLatch sending = new CountDownLatch(1);
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        volatile boolean completed;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            sending.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    private TicketEventStream streamWith(int bufferSize, TicketEventStream.OverflowPolicy policy) {
+        return new TicketEventStream(100, bufferSize, 10, policy, Duration.ofMinutes(1), Duration.ofMinutes(5), registry) {
+            @Override
+            protected SseEmitter createEmitter() {
+                return emitters.remove(0);
+            }
+        };
+    }
+
+    private RecordingEmitter subscribe(String lastEventId, boolean slow) {
+        return subscribe(lastEventId, new RecordingEmitter(slow));
+    }
+
+    private <T extends SseEmitter> T subscribe(String lastEventId, T emitter) {
+        emitters.add(emitter);
+        assertThat(stream.subscribe(lastEventId)).isPresent();
+        return emitter;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void publishCreated(int id) {
+        Ticket ticket = new Ticket();
+        ticket.setId(id);
+        ticket.setTitle("Ticket " + id);
+        stream.onTicketChange(TicketChangeEvent.created(TicketWithPseudoView.of(ticket)));
+    }
+
+    private static String idOf(String event) {
+        Matcher matcher = EVENT_ID.matcher(event);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (stream != null) {
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Doit pousser chaque écriture avec son type et un identifiant")
+    void subscribe_ShouldReceiveLiveEvents() throws Exception {
+        // Given
+        stream = streamWith(16, TicketEventStream.OverflowPolicy.DROP_OLDEST);
+        RecordingEmitter client = subscribe(null, false);
+
+        // When
+        publishCreated(1);
+
+        // Then
+        String event = client.next();
+        assertThat(event).contains("event:created").contains("id:");
+    }
+
+    @Test
+    @DisplayName("Doit rejouer depuis Last-Event-ID les seuls événements manqués")
+    void subscribe_ShouldReplayFromLastEventId() throws Exception {
+        // Given
+        stream = streamWith(16, TicketEventStream.OverflowPolicy.DROP_OLDEST);
+        RecordingEmitter first = subscribe(null, false);
+        publishCreated(1);
+        publishCreated(2);
+        publishCreated(3);
+        String firstId = idOf(first.next());
+        String secondId = idOf(first.next());
+        String thirdId = idOf(first.next());
+
+        // When
+        RecordingEmitter resumed = subscribe(firstId, false);
+
+        // Then
+        assertThat(idOf(resumed.next())).isEqualTo(secondId);
+        assertThat(idOf(resumed.next())).isEqualTo(thirdId);
+        assertThat(resumed.sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Doit envoyer un reset pour un identifiant d'un autre démarrage")
+    void subscribe_ShouldReset_WhenLastEventIdUnknown() throws Exception {
+        // Given
+        stream = streamWith(16, TicketEventStream.OverflowPolicy.DROP_OLDEST);
+        publishCreated(1);
+
+        // When
+        RecordingEmitter client = subscribe("ancien-42", false);
+
+        // Then
+        assertThat(client.next()).contains("event:reset");
+    }
+
+    @Test
+    @DisplayName("Doit jeter les plus anciens événements d'un client lent puis lui envoyer un reset")
+    void offer_ShouldDropOldestAndReset_WhenClientSlow() throws Exception {
+        // Given
+        stream = streamWith(2, TicketEventStream.OverflowPolicy.DROP_OLDEST);
+        RecordingEmitter slow = subscribe(null, true);
+
+        // When
+        for (int id = 1; id <= 6; id++) {
+            publishCreated(id);
+        }
+        slow.release.countDown();
+
+        // Then
+        assertThat(registry.get("tickets.stream.dropped").counter().count()).isPositive();
+        List<String> received = new ArrayList<>();
+        String event;
+        while ((event = slow.sent.poll(300, TimeUnit.MILLISECONDS)) != null) {
+            received.add(event);
+        }
+        assertThat(received).anySatisfy(text -> assertThat(text).contains("event:reset"));
+        assertThat(received.get(received.size() - 1)).contains("event:created");
+    }
+
+    @Test
+    @DisplayName("Doit couper un client lent en mode DISCONNECT")
+    void offer_ShouldDisconnect_WhenPolicyDisconnect() throws Exception {
+        // Given
+        stream = streamWith(1, TicketEventStream.OverflowPolicy.DISCONNECT);
+        RecordingEmitter slow = subscribe(null, true);
+
+        // When
+        for (int id = 1; id <= 4; id++) {
+            publishCreated(id);
+        }
+
+        // Then
+        waitUntil(() -> slow.completed);
+        assertThat(slow.completed).isTrue();
+        assertThat(registry.get("tickets.stream.disconnected").counter().count()).isEqualTo(1);
+        assertThat(registry.get("tickets.stream.subscribers").gauge().value()).isZero();
+        slow.release.countDown();
+    }
+
+    @Test
+    @DisplayName("Ne doit pas bloquer les écritures quand le client coupé est bloqué dans un envoi")
+    void offer_ShouldNotBlockPublishers_WhenDisconnectedClientStuckInSend() throws Exception {
+        // Given
+        stream = streamWith(1, TicketEventStream.OverflowPolicy.DISCONNECT);
+        StuckEmitter stuck = subscribe(null, new StuckEmitter());
+        publishCreated(1);
+        assertThat(stuck.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Void> publishes = CompletableFuture.runAsync(() -> {
+            for (int id = 2; id <= 5; id++) {
+                publishCreated(id);
+            }
+        });
+
+        // Then
+        publishes.get(2, TimeUnit.SECONDS);
+        assertThat(registry.get("tickets.stream.disconnected").counter().count()).isEqualTo(1);
+        assertThat(stuck.completed).isFalse();
+
+        stuck.release.countDown();
+        waitUntil(() -> stuck.completed);
+        assertThat(stuck.completed).isTrue();
+    }
+}